@@ -0,0 +1,146 @@
+package benchmarks;
+
+import datascructures.MyList;
+import geoviz.Utilities;
+import geoviz.shapes.MyCircle;
+import geoviz.shapes.MyLine;
+import geoviz.shapes.MyPoint;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every overload of Utilities.getPointOfIntersection. The shapes are created once in the setup; creating the
+ * nodes does not start the JavaFX toolkit, so the benchmarks run without a display. The shapes are chosen so that every
+ * calculation has a result (two crossing lines, a line through a circle and two overlapping circles).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionBenchmark {
+
+
+    //Object variables
+    private MyPoint start1; //first line from (0, 0) to (100, 80)
+    private MyPoint end1;
+    private MyPoint start2; //second line from (0, 90) to (110, 10)
+    private MyPoint end2;
+
+    private double[] point1;
+    private double[] point2;
+    private double[] point3;
+    private double[] point4;
+
+    private MyLine line1;
+    private MyLine line2;
+    private MyCircle circle1; //center (50, 40), radius 30
+    private MyCircle circle2; //center (70, 50), radius 25
+
+    private double[] circles; //x, y and radius of both circles, read from a field so the JIT cannot fold them
+    private final double[] result = new double[4]; //reused by the primitive overloads
+
+
+    //Object methods
+
+    /**
+     * Creates the shapes that are intersected.
+     */
+    @Setup
+    public void setup() {
+
+        start1 = new MyPoint(0, 0);
+        end1 = new MyPoint(100, 80);
+        start2 = new MyPoint(0, 90);
+        end2 = new MyPoint(110, 10);
+
+        point1 = new double[]{0, 0};
+        point2 = new double[]{100, 80};
+        point3 = new double[]{0, 90};
+        point4 = new double[]{110, 10};
+
+        line1 = new MyLine(start1, end1, Color.BLACK);
+        line2 = new MyLine(start2, end2, Color.BLACK);
+        circle1 = new MyCircle(new MyPoint(50, 40), new MyPoint(80, 40), Color.BLACK, false);
+        circle2 = new MyCircle(new MyPoint(70, 50), new MyPoint(95, 50), Color.BLACK, false);
+        circles = new double[]{50, 40, 30, 70, 50, 25};
+    }
+
+    /**
+     * Intersection of two lines given by four MyPoint instances.
+     */
+    @Benchmark
+    public MyPoint points() {
+        return Utilities.getPointOfIntersection(start1, end1, start2, end2);
+    }
+
+    /**
+     * Intersection of two lines given by four arrays.
+     */
+    @Benchmark
+    public double[] arrays() {
+        return Utilities.getPointOfIntersection(point1, point2, point3, point4);
+    }
+
+    /**
+     * Intersection of two MyLine instances.
+     */
+    @Benchmark
+    public MyPoint lineLine() {
+        return Utilities.getPointOfIntersection(line1, line2);
+    }
+
+    /**
+     * Intersections of a MyLine and a MyCircle instance.
+     */
+    @Benchmark
+    public MyList<MyPoint> lineCircle() {
+        return Utilities.getPointOfIntersection(line1, circle1);
+    }
+
+    /**
+     * Intersections of two MyCircle instances.
+     */
+    @Benchmark
+    public MyList<MyPoint> circleCircle() {
+        return Utilities.getPointOfIntersection(circle1, circle2);
+    }
+
+    /**
+     * Intersection of two lines given by their coordinates, written into a reused array.
+     */
+    @Benchmark
+    public int primitiveLineLine() {
+        return Utilities.getPointOfIntersection(point1[0], point1[1], point2[0], point2[1], point3[0], point3[1], point4[0], point4[1],
+                result);
+    }
+
+    /**
+     * Intersections of a line and a circle given by their coordinates, written into a reused array.
+     */
+    @Benchmark
+    public int primitiveLineCircle() {
+        return Utilities.getPointOfIntersection(point1[0], point1[1], point2[0], point2[1], circles[0], circles[1], circles[2],
+                result);
+    }
+
+    /**
+     * Intersections of two circles given by their coordinates, written into a reused array.
+     */
+    @Benchmark
+    public int primitiveCircleCircle() {
+        return Utilities.getPointOfIntersection(circles[0], circles[1], circles[2], circles[3], circles[4], circles[5], result);
+    }
+}
@@ -0,0 +1,124 @@
+package benchmarks;
+
+import datascructures.MyList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures add, get and remove of MyList for different sizes of the list. Each benchmark works on the whole list, so the
+ * time per operation is the measured time divided by the size. Remove is measured twice: removing the first element has
+ * to move all other elements, removing the last element has to search through the whole list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyListBenchmark {
+
+
+    //Object variables
+    @Param({"1000", "10000"}) //remove is quadratic in the size of the list
+    private int size;
+
+    private Integer[] values; //created once, so boxing is not measured
+    private MyList<Integer> filled;
+
+
+    //Object methods
+
+    /**
+     * Creates the values and a filled list.
+     */
+    @Setup
+    public void setup() {
+
+        values = new Integer[size];
+        filled = new MyList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            filled.add(values[i]);
+        }
+    }
+
+    /**
+     * Adds all values to a new list.
+     */
+    @Benchmark
+    public MyList<Integer> add() {
+
+        MyList<Integer> list = new MyList<>();
+        for (Integer value : values) list.add(value);
+        return list;
+    }
+
+    /**
+     * Reads all elements of the list by their index.
+     */
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) blackhole.consume(filled.get(i));
+    }
+
+    /**
+     * Removes all elements from the front of the list, so the element is found at once and all others have to move.
+     */
+    @Benchmark
+    public boolean removeFirst(ListToEmpty toEmpty) {
+
+        boolean isRemoved = true;
+        for (int i = 0; i < toEmpty.values.length; i++) isRemoved &= toEmpty.list.remove(toEmpty.values[i]);
+        return isRemoved;
+    }
+
+    /**
+     * Removes all elements from the end of the list, so no elements have to move but the whole list is searched.
+     */
+    @Benchmark
+    public boolean removeLast(ListToEmpty toEmpty) {
+
+        boolean isRemoved = true;
+        for (int i = toEmpty.values.length - 1; i >= 0; i--) isRemoved &= toEmpty.list.remove(toEmpty.values[i]);
+        return isRemoved;
+    }
+
+
+    //Inner classes
+
+    /**
+     * A list that is emptied by the remove benchmarks. It is filled again before each call, in an own state so the
+     * allocations of filling are not added to the other benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class ListToEmpty {
+
+        private Integer[] values;
+        private MyList<Integer> list;
+
+        @Setup(Level.Trial)
+        public void setup(MyListBenchmark benchmark) {
+            values = benchmark.values;
+        }
+
+        @Setup(Level.Invocation)
+        public void fill() {
+
+            list = new MyList<>();
+            for (Integer value : values) list.add(value);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package benchmarks;
+
+import controls.PointReader;
+import datascructures.DoubleList;
+import datascructures.MyList;
+import geoviz.shapes.MyPoint;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading generated point files with the PointReader. readCoordinates only parses the file, readPoints also
+ * creates a MyPoint node for every line. A node needs far more memory than its two coordinates, so readPoints is only
+ * measured up to a million lines. The files are generated once per trial in the temporary directory and deleted
+ * afterwards.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointReaderBenchmark {
+
+
+    //Object methods
+
+    /**
+     * Parses the file to coordinates.
+     */
+    @Benchmark
+    public DoubleList readCoordinates(CoordinateFile file) {
+        return file.reader.readCoordinates(file.path.toString());
+    }
+
+    /**
+     * Parses the file and creates a MyPoint instance for every point.
+     */
+    @Benchmark
+    public MyList<MyPoint> readPoints(PointFile file) {
+        return file.reader.readPoints(file.path.toString(), Color.BLACK);
+    }
+
+
+    //Helping methods
+
+    /**
+     * Writes a file with the given number of random points, one point per line, in the temporary directory.
+     */
+    private static Path generate(int lines) throws IOException {
+
+        Path path = Files.createTempFile("points", ".txt");
+        Random random = new Random(42); //the same file in every trial
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(random.nextInt(20000) / 10.0 + ", " + random.nextInt(20000) / 10.0); //like 1034.5, 87.2
+                writer.newLine();
+            }
+        }
+        return path;
+    }
+
+
+    //Inner classes
+
+    /**
+     * A generated file for readCoordinates.
+     */
+    @State(Scope.Benchmark)
+    public static class CoordinateFile {
+
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        private int lines;
+
+        private final PointReader reader = new PointReader();
+        private Path path;
+
+        @Setup
+        public void setup() throws IOException {
+            path = generate(lines);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * A generated file for readPoints.
+     */
+    @State(Scope.Benchmark)
+    public static class PointFile {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        private int lines;
+
+        private final PointReader reader = new PointReader();
+        private Path path;
+
+        @Setup
+        public void setup() throws IOException {
+            path = generate(lines);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+}
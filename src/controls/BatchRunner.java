@@ -0,0 +1,245 @@
+package controls;
+
+import datascructures.GridPointSet;
+import geoviz.IntersectionCalculator;
+import geoviz.ShapeModel;
+import geoviz.Utilities;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Calculates the intersections of shapes from files or the standard input without a window. It does not use any JavaFX
+ * class, so the toolkit is never started and several jobs can run at the same time in separate processes. The shapes
+ * are read into a ShapeModel and their intersections are calculated and merged like the intersections that Graphics
+ * shows: with an IntersectionCalculator over the same region and a GridPointSet, so each position is written once.
+ * The intersections are written one per line in the format of point files (for example: 13.5, 6.22). They are written
+ * after the whole calculation, because the number of intersections at a position (--counts) is only known then; until
+ * the calculation is finished nothing is written.
+ * <p>
+ * Scene files (see SceneFile) are loaded as they are. All other inputs are text with one shape per line, the values
+ * are separated by commas or spaces and lines that start with # are ignored:
+ * <pre>
+ * x, y                        a point (the format of point files)
+ * line x1, y1, x2, y2         a line through two points
+ * circle x, y, radius         a circle, "circle x, y, radius, filled" for a filled one
+ * </pre>
+ */
+public class BatchRunner {
+
+
+    //Static variables
+    private static final double CANVAS_SIZE = 10000; //the sweep-line finds the intersections in the region of the grid
+    private static final int COLOR = 0xFF000000; //black, the color has no influence on the intersections
+    private static final Pattern SEPARATOR = Pattern.compile("[,\\s]+");
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "usage: StartProject --batch [options] [file ...]",
+            "Reads shapes from the files (scene files or text, - or no file for the standard input) and writes the",
+            "coordinates of their intersections, one per line. The intersections are written when the whole",
+            "calculation is finished, not while it runs.",
+            "  -o, --output <file>   write the intersections to the file instead of the standard output",
+            "  --counts              add the number of intersections at each position as a third value",
+            "  --threads <n>         number of threads for the calculation (default 1)",
+            "  --sweep-line          find the intersections of lines with the sweep-line algorithm",
+            "  --spatial-hash        find the circles near each line with a spatial hash",
+            "  --sort-and-sweep      find the circles that meet by sort and sweep",
+            "  -h, --help            show this help");
+
+
+    //Object variables
+    private final ShapeModel model = new ShapeModel();
+    private final IntersectionCalculator calculator = new IntersectionCalculator(0, 0, CANVAS_SIZE, CANVAS_SIZE);
+    private final GridPointSet intersections = new GridPointSet(Utilities.EPSILON); //each position only once
+
+    private String outputPath; //null for the standard output
+    private boolean countsAreWritten = false;
+
+
+    //Object methods
+
+    /**
+     * Runs the job that is described by the given arguments. Errors are written to the given error stream instead of
+     * being thrown.
+     *
+     * @param args the arguments without --batch
+     * @param in   the stream to read from when no file or - is given
+     * @param out  the stream to write the intersections to when no output file is given
+     * @param err  the stream for the help and for errors
+     * @return the exit code: 0 on success, 1 when a file could not be read or written and 2 for wrong arguments or input
+     */
+    public int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+
+        try {
+            String[] files = parseArguments(args);
+            if (files == null) { //help was asked for
+                err.println(USAGE);
+                return 0;
+            }
+
+            if (files.length == 0) readShapes(new InputStreamReader(in, StandardCharsets.UTF_8), "standard input");
+            for (String file : files) {
+                if (file.equals("-")) readShapes(new InputStreamReader(in, StandardCharsets.UTF_8), "standard input");
+                else if (file.endsWith("." + SceneFile.EXTENSION)) readScene(file);
+                else try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    readShapes(reader, file);
+                }
+            }
+
+            intersections.addAll(calculator.calculateAll(model)); //the counts are final only after the whole pass
+
+            if (outputPath == null) writeIntersections(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            else try (Writer writer = Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8)) {
+                writeIntersections(writer);
+            }
+            return 0;
+        } catch (IllegalArgumentException illegalArgumentException) {
+            err.println("error: " + illegalArgumentException.getMessage());
+            return 2;
+        } catch (NoSuchFileException noSuchFileException) {
+            err.println("error: file not found: " + noSuchFileException.getMessage());
+            return 1;
+        } catch (IOException ioException) {
+            err.println("error: " + ioException.getMessage());
+            return 1;
+        } finally {
+            calculator.shutdown(); //threads of the parallel calculation
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Applies the options of the given arguments and returns the input files, or null when the help was asked for.
+     */
+    private String[] parseArguments(String[] args) {
+
+        String[] files = new String[args.length];
+        int fileCount = 0;
+
+        for (int i = 0; i < args.length; i++) {
+
+            String arg = args[i];
+            if (arg.equals("-h") || arg.equals("--help")) return null;
+            else if (arg.equals("-o") || arg.equals("--output")) outputPath = valueOf(args, ++i);
+            else if (arg.equals("--counts")) countsAreWritten = true;
+            else if (arg.equals("--sweep-line")) calculator.setSweepLineIsUsed(true);
+            else if (arg.equals("--spatial-hash")) calculator.setSpatialHashIsUsed(true);
+            else if (arg.equals("--sort-and-sweep")) calculator.setSortAndSweepIsUsed(true);
+            else if (arg.equals("--threads")) {
+                try {
+                    calculator.setParallelism(Integer.parseInt(valueOf(args, ++i)));
+                } catch (NumberFormatException numberFormatException) {
+                    throw new IllegalArgumentException("--threads needs a number: " + args[i]);
+                }
+            } else if (arg.startsWith("-") && !arg.equals("-")) throw new IllegalArgumentException("unknown option " + arg);
+            else files[fileCount++] = arg; //- stands for the standard input
+        }
+        return Arrays.copyOf(files, fileCount);
+    }
+
+    /**
+     * Returns the value that follows an option.
+     */
+    private static String valueOf(String[] args, int i) {
+
+        if (i >= args.length) throw new IllegalArgumentException(args[i - 1] + " needs a value");
+        return args[i];
+    }
+
+    /**
+     * Adds the shapes of the given text to the model. The reader is read line by line, so big inputs are never held as a
+     * whole.
+     */
+    private void readShapes(Reader reader, String name) throws IOException {
+
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] values = SEPARATOR.split(line);
+            try {
+                addShape(values);
+            } catch (IllegalArgumentException illegalArgumentException) { //also NumberFormatException
+                throw new IllegalArgumentException(name + ":" + lineNumber + ": cannot read \"" + line + "\" ("
+                        + illegalArgumentException.getMessage() + ")");
+            }
+        }
+    }
+
+    /**
+     * Adds the shape that is described by the given values of one line to the model.
+     */
+    private void addShape(String[] values) {
+
+        if (values[0].equals("line")) {
+            if (values.length != 5) throw new IllegalArgumentException("a line needs four values");
+
+            double startX = Double.parseDouble(values[1]);
+            double startY = Double.parseDouble(values[2]);
+            double endX = Double.parseDouble(values[3]);
+            double endY = Double.parseDouble(values[4]);
+            if (Double.isInfinite(Utilities.getSlope(startX, startY, endX, endY))) startX += 0.01; //like the lines of Graphics
+            model.addLine(startX, startY, endX, endY, COLOR);
+
+        } else if (values[0].equals("circle")) {
+            boolean isFilled = values.length == 5 && values[4].equals("filled");
+            if (values.length != 4 && !isFilled) throw new IllegalArgumentException("a circle needs three values");
+            model.addCircle(Double.parseDouble(values[1]), Double.parseDouble(values[2]), Double.parseDouble(values[3]), isFilled, COLOR);
+
+        } else {
+            if (values.length != 2) throw new IllegalArgumentException("a point needs two values");
+            model.addPoint(Double.parseDouble(values[0]), Double.parseDouble(values[1]), COLOR);
+        }
+    }
+
+    /**
+     * Adds the shapes of the scene file of the given path to the model.
+     */
+    private void readScene(String path) throws IOException {
+
+        ShapeModel scene = new ShapeModel();
+        new SceneFile().load(path, scene); //replaces the shapes of the model it loads into
+        model.addAll(scene);
+    }
+
+    /**
+     * Writes the merged intersections one per line to the given writer. The values are written with full precision.
+     */
+    private void writeIntersections(Writer writer) throws IOException {
+
+        BufferedWriter out = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        for (int i = 0; i < intersections.size(); i++) {
+
+            out.write(Double.toString(intersections.getX(i)));
+            out.write(", ");
+            out.write(Double.toString(intersections.getY(i)));
+            if (countsAreWritten) {
+                out.write(", ");
+                out.write(Integer.toString(intersections.getCount(i)));
+            }
+            out.newLine();
+        }
+        out.flush(); //the standard output is not closed
+    }
+}
@@ -0,0 +1,210 @@
+package controls;
+
+import datascructures.DoubleList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses the coordinates of points from a file on several threads. The file is split into chunks that end at line
+ * breaks. Each chunk is memory-mapped and parsed by its own PointParser into its own list. The lists are joined in the
+ * order of the chunks, so the result is the same as when the whole file is parsed by a single PointParser.
+ * Only a few chunks per thread are parsed or waiting to be joined at the same time, so besides the result only these
+ * chunks are held in memory. The lists of the chunks and the result are sized from the bytes per line at the start of
+ * the file, so they are usually not grown while they are filled.
+ */
+public class ParallelPointParser {
+
+
+    //Static variables
+    private static final long MIN_CHUNK_SIZE = 1 << 20; //1 MiB
+    private static final long MAX_CHUNK_SIZE = 1 << 23; //8 MiB, chunks in flight are held in memory
+    private static final int CHUNKS_PER_THREAD = 4; //chunks in flight per thread, so threads with fast chunks take more
+    private static final int SAMPLE_SIZE = 1 << 16; //bytes at the start of the file that are used to count the lines
+
+
+    //Object variables
+    private final ForkJoinPool pool;
+    private int lineNumber;
+
+
+    //Constructor
+    public ParallelPointParser(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+
+    //Getter
+
+    /**
+     * Returns the number of the line that was parsed last. After a NumberFormatException it is the number of the line
+     * that could not be parsed.
+     *
+     * @return the number of the line in the whole file, starting with 1
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+
+    //Object methods
+
+    /**
+     * Parses the whole file of the given channel on the threads of the pool and adds the coordinates of the points to the
+     * given list in the order of the file. When a line cannot be parsed, the coordinates of the lines before stay in the
+     * list and the following lines are ignored.
+     *
+     * @param channel     the channel of the file to parse. It is not closed.
+     * @param coordinates the list to add the x and y coordinates of the points to
+     * @throws IOException           when the file cannot be read
+     * @throws NumberFormatException when a line does not hold two numbers
+     */
+    public void parse(FileChannel channel, DoubleList coordinates) throws IOException {
+
+        Deque<Future<Chunk>> chunks = new ArrayDeque<>(); //chunks in flight in the order of the file
+        long size = channel.size();
+        int inFlight = pool.getParallelism() * CHUNKS_PER_THREAD;
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / inFlight));
+        double bytesPerLine = measureBytesPerLine(channel);
+        long expected = (long) coordinates.size() + estimateCoordinates(size, bytesPerLine);
+        coordinates.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, expected)); //not grown while joining
+
+        lineNumber = 0;
+        long start = 0;
+        try {
+            while (start < size || !chunks.isEmpty()) {
+
+                while (start < size && chunks.size() < inFlight) { //split at the line breaks after each chunk size
+                    long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize);
+                    chunks.add(pool.submit(parseTask(channel, start, end, bytesPerLine)));
+                    start = end;
+                }
+
+                Chunk chunk = chunks.remove().get(); //join the chunks in the order of the file
+                coordinates.addAll(chunk.coordinates);
+                lineNumber += chunk.lines;
+
+                if (chunk.error != null) { //the lines after the wrong one are ignored
+                    chunks.forEach(other -> other.cancel(false));
+                    throw new NumberFormatException("Unexpected character in line " + lineNumber);
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+
+            chunks.forEach(other -> other.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing was interrupted", interruptedException);
+
+        } catch (ExecutionException executionException) {
+
+            chunks.forEach(other -> other.cancel(false));
+            throw new IOException("Chunk could not be read", executionException.getCause());
+        }
+    }
+
+    /**
+     * Stops the threads of the pool. The instance cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+
+    //Helping methods
+
+    /**
+     * Returns a task that maps the bytes from start (inclusive) to end (exclusive) and parses them.
+     */
+    private static Callable<Chunk> parseTask(FileChannel channel, long start, long end, double bytesPerLine) {
+
+        return () -> {
+
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            PointParser parser = new PointParser();
+            DoubleList coordinates = new DoubleList(estimateCoordinates(end - start, bytesPerLine));
+
+            NumberFormatException error = null;
+            try {
+                parser.parseLines(bytes, 0, bytes.limit(), coordinates);
+            } catch (NumberFormatException numberFormatException) {
+                error = numberFormatException;
+            }
+            return new Chunk(coordinates, parser.getLineNumber(), error);
+        };
+    }
+
+    /**
+     * Returns the average number of bytes per line at the start of the file (the whole sample when it holds no line
+     * break).
+     */
+    private static double measureBytesPerLine(FileChannel channel) throws IOException {
+
+        ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+        int read = Math.max(channel.read(sample, 0), 1); //does not change the position of the channel
+
+        int lines = 0;
+        for (int i = 0; i < read; i++) {
+            byte current = sample.get(i);
+            if (current == '\n' || (current == '\r' && (i + 1 == read || sample.get(i + 1) != '\n'))) lines++;
+        }
+        return lines == 0 ? read : (double) read / lines;
+    }
+
+    /**
+     * Returns the number of coordinates that the given number of bytes probably hold, with an eighth more for longer
+     * lines.
+     */
+    private static int estimateCoordinates(long bytes, double bytesPerLine) {
+
+        long coordinates = (long) (2 * bytes / bytesPerLine);
+        return (int) Math.min(Integer.MAX_VALUE - 8, coordinates + coordinates / 8 + 16);
+    }
+
+    /**
+     * Returns the position after the first line break (\n, \r\n or \r) at or after the given position, or the size of the
+     * file when there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        while (true) {
+
+            window.clear();
+            int read = channel.read(window, position); //does not change the position of the channel
+            if (read < 0) return channel.size();
+
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') return position + i + 1;
+                if (window.get(i) == '\r' && i + 1 < read) return position + i + (window.get(i + 1) == '\n' ? 2 : 1);
+            }
+            position += read;
+        }
+    }
+
+
+    //Inner classes
+
+    /**
+     * Result of a parsed chunk.
+     */
+    private static class Chunk {
+
+        private final DoubleList coordinates;
+        private final int lines; //number of parsed lines (including the wrong line)
+        private final NumberFormatException error; //null when all lines could be parsed
+
+        private Chunk(DoubleList coordinates, int lines, NumberFormatException error) {
+            this.coordinates = coordinates;
+            this.lines = lines;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package controls;
+
+import datascructures.DoubleList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses the coordinates of points from the bytes of a file without regular expressions and without creating a String
+ * for each line. Each line holds one point as two numbers that are divided by any characters that are not digits or
+ * points (for example: "100, 50", "400.30,300.1" or "3 - 4"). Lines end with \n, \r\n or \r and blank lines are skipped.
+ * The coordinates are added to a DoubleList one after another (x and y of the first point, x and y of the second point
+ * and so on).
+ * <p>
+ * Unlike the former regular expressions, a number may have a sign: a - or + is the sign of a number when it stands at
+ * the start of the line or after a separator and is directly followed by a digit or a point. So "-3, 4" is read as
+ * (-3, 4) and "100, -50" as (100, -50), while "1-2" and "3 - 4" are still read as (1, 2) and (3, 4).
+ */
+public class PointParser {
+
+
+    //Static variables
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53; //greater integers cannot be stored exactly in a double
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22}; //all of them are exact doubles
+
+
+    //Object variables
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private byte[] slowPathBytes = new byte[64]; //bytes of a number that cannot be parsed on the fast path
+    private int lineNumber; //number of the line that is currently parsed
+    private double value; //the last parsed number
+
+
+    //Getter
+
+    /**
+     * Returns the number of the line that was parsed last. After a NumberFormatException it is the number of the line
+     * that could not be parsed.
+     *
+     * @return the number of the line, starting with 1
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+
+    //Object methods
+
+    /**
+     * Reads all bytes of the given channel and adds the coordinates of the points to the given list. The bytes are read in
+     * blocks into a buffer that is reused for all blocks. When a line cannot be parsed, the coordinates of the lines
+     * before stay in the list and the rest of the channel is not read.
+     *
+     * @param channel     the channel to read from. It is not closed.
+     * @param coordinates the list to add the x and y coordinates of the points to
+     * @throws IOException           when the channel cannot be read
+     * @throws NumberFormatException when a line does not hold two numbers
+     */
+    public void parse(ReadableByteChannel channel, DoubleList coordinates) throws IOException {
+
+        buffer.clear();
+        lineNumber = 0;
+
+        while (true) {
+
+            int read = channel.read(buffer);
+            buffer.flip();
+
+            int end = read < 0 ? buffer.limit() : lastLineEnd(buffer); //only complete lines are parsed until the end
+            if (read >= 0 && end == buffer.position() && buffer.limit() == buffer.capacity()) { //line is longer than the buffer
+
+                buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2).put(buffer);
+                continue;
+            }
+
+            parseLines(buffer, buffer.position(), end, coordinates);
+            if (read < 0) return;
+
+            buffer.position(end);
+            buffer.compact(); //move the incomplete line to the front
+        }
+    }
+
+    /**
+     * Parses the lines in the given range of the buffer and adds the coordinates of the points to the given list. The
+     * range has to start at the beginning of a line and must end at the end of a line.
+     *
+     * @param bytes       the buffer that holds the lines
+     * @param from        the index of the first byte (inclusive)
+     * @param to          the index of the last byte (exclusive)
+     * @param coordinates the list to add the x and y coordinates of the points to
+     * @throws NumberFormatException when a line does not hold two numbers
+     */
+    public void parseLines(ByteBuffer bytes, int from, int to, DoubleList coordinates) {
+
+        int i = from;
+        while (i < to) {
+
+            lineNumber++;
+            i = skipBlanks(bytes, i, to);
+            if (i == to || isLineEnd(bytes.get(i))) { //blank line
+                i = skipLineEnd(bytes, i, to);
+                continue;
+            }
+
+            i = parseNumber(bytes, i, to);
+            double x = value;
+
+            int separatorStart = i;
+            while (i < to && isSeparator(bytes, i, separatorStart, to)) i++;
+            if (i == separatorStart) throw unexpectedCharacter();
+
+            i = parseNumber(bytes, i, to);
+            double y = value;
+
+            i = skipBlanks(bytes, i, to);
+            if (i < to && !isLineEnd(bytes.get(i))) throw unexpectedCharacter(); //more than two numbers in the line
+            i = skipLineEnd(bytes, i, to);
+
+            coordinates.add(x);
+            coordinates.add(y);
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Parses the number that starts at the given index and stores it in value. Numbers may have a sign and a decimal
+     * point. When the digits fit exactly into a double, the number is calculated directly from them, which gives the same
+     * result as Double.parseDouble. Other numbers are passed to Double.parseDouble.
+     *
+     * @return the index of the first byte after the number
+     */
+    private int parseNumber(ByteBuffer bytes, int start, int to) {
+
+        int i = start;
+        boolean isNegative = false;
+        if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) isNegative = bytes.get(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean hasPoint = false;
+
+        for (; i < to; i++) {
+
+            byte current = bytes.get(i);
+            if (current >= '0' && current <= '9') {
+
+                if (digits < 18) mantissa = mantissa * 10 + (current - '0'); //more digits would overflow the long
+                digits++;
+                if (hasPoint) fractionDigits++;
+
+            } else if (current == '.' && !hasPoint) hasPoint = true;
+            else break;
+        }
+
+        if (digits == 0) throw unexpectedCharacter();
+
+        if (digits <= 18 && mantissa <= MAX_EXACT_MANTISSA && fractionDigits < POWERS_OF_TEN.length) { //fast path
+
+            value = mantissa / POWERS_OF_TEN[fractionDigits]; //exact values, so the division is rounded correctly
+            if (isNegative) value = -value;
+
+        } else { //slow path
+
+            int length = i - start;
+            if (length > slowPathBytes.length) slowPathBytes = new byte[length];
+            for (int j = 0; j < length; j++) slowPathBytes[j] = bytes.get(start + j);
+            value = Double.parseDouble(new String(slowPathBytes, 0, length, StandardCharsets.ISO_8859_1));
+        }
+        return i;
+    }
+
+    /**
+     * Returns whether the byte at the given index divides the two numbers of a line. All characters that are not digits,
+     * points or the end of the line are separators, except a - or + after the first separator that is directly followed by
+     * a digit or a point: it is the sign of the second number.
+     */
+    private static boolean isSeparator(ByteBuffer bytes, int i, int separatorStart, int to) {
+
+        byte current = bytes.get(i);
+        if (isDigitOrPoint(current) || isLineEnd(current)) return false;
+        if (current != '-' && current != '+') return true;
+        return i == separatorStart || i + 1 == to || !isDigitOrPoint(bytes.get(i + 1)); //directly after the number it separates
+    }
+
+    /**
+     * Returns whether the given byte is a digit or a decimal point.
+     */
+    private static boolean isDigitOrPoint(byte current) {
+        return (current >= '0' && current <= '9') || current == '.';
+    }
+
+    /**
+     * Returns whether the given byte ends a line (\n, or \r without a following \n).
+     */
+    private static boolean isLineEnd(byte current) {
+        return current == '\n' || current == '\r';
+    }
+
+    /**
+     * Returns the index after the line end at the given index. \r\n is one line end.
+     */
+    private static int skipLineEnd(ByteBuffer bytes, int i, int to) {
+
+        if (i < to && bytes.get(i++) == '\r' && i < to && bytes.get(i) == '\n') i++;
+        return i;
+    }
+
+    /**
+     * Returns the index of the first byte at or after the given index that is not a space or a tab.
+     */
+    private static int skipBlanks(ByteBuffer bytes, int i, int to) {
+
+        while (i < to && (bytes.get(i) == ' ' || bytes.get(i) == '\t')) i++;
+        return i;
+    }
+
+    /**
+     * Returns the index after the last line break between the position and the limit of the given buffer, or the position
+     * when there is none. A \r at the limit is not used, because the \n of \r\n may follow in the next block.
+     */
+    private static int lastLineEnd(ByteBuffer bytes) {
+
+        for (int i = bytes.limit() - 1; i >= bytes.position(); i--) {
+            if (bytes.get(i) == '\n' || (bytes.get(i) == '\r' && i + 1 < bytes.limit())) return i + 1;
+        }
+        return bytes.position();
+    }
+
+    private NumberFormatException unexpectedCharacter() {
+        return new NumberFormatException("Unexpected character in line " + lineNumber);
+    }
+}
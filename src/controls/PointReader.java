@@ -1,13 +1,19 @@
 package controls;
 
+import datascructures.DoubleList;
 import datascructures.MyList;
 import geoviz.shapes.MyPoint;
 import javafx.scene.control.Alert;
 import javafx.scene.paint.Color;
+import metrics.LoadEvent;
+import metrics.Metrics;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Reads data form files and returns MyPoint instances represented by coordinates in the read files
@@ -15,6 +21,38 @@ import java.io.*;
 public class PointReader {
 
 
+    //Static variables
+    private static final long PARALLEL_FILE_SIZE = 1 << 24; //smaller files are always read on one thread (16 MiB)
+
+
+    //Object variables
+    private int parallelism = Runtime.getRuntime().availableProcessors(); //number of threads for big files
+
+
+    //Getter and setter
+
+    /**
+     * Returns the number of threads that are used to parse big files.
+     *
+     * @return the number of threads (1 when all files are read on the calling thread).
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads that are used to parse big files. Big files are memory-mapped and split into chunks that
+     * are parsed at the same time. The read coordinates are the same and in the same order for every number of threads.
+     *
+     * @param parallelism the number of threads (1 to read all files on the calling thread).
+     */
+    public void setParallelism(int parallelism) {
+
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.parallelism = parallelism;
+    }
+
+
     //Object methods
 
     /**
@@ -43,6 +81,10 @@ public class PointReader {
      * Reads the file from the given filepath. Converts double-pairs in the file (for example divided by a ",")
      * (those represent the x and y coordinates) to MyPoint instances and returns a MyList instance filled with
      * the new created MyPoint instances. Each Point has to be written in a separate line (for example: 13.5, 6.22).
+     * Any characters that are not digits or points divide the two numbers and lines end with \n, \r\n or \r. A - or +
+     * right in front of a number at the start of the line or after a separator is its sign, so "-3, 4" is (-3, 4) and
+     * "100, -50" is (100, -50); before, the sign of the first number was given to both and the sign of the second was
+     * ignored. "1-2" and "3 - 4" are still (1, 2) and (3, 4) (see PointParser).
      * When an unexpected character is found and can not be read, the rest of the file is not read and an error-dialog
      * is shown. After this dialog is closed, the correct parsed points are returned. The returned MyPoint instances get
      * the passed color.
@@ -54,41 +96,67 @@ public class PointReader {
     public MyList<MyPoint> readPoints(String path, Color color) {
 
         MyList<MyPoint> addedPoints = new MyList<>();
-        File points = new File(path); //get File instance of given path
-
-        if (points.exists() && points.canRead()) {
+        DoubleList coordinates = readCoordinates(path);
 
-            try (BufferedReader in = new BufferedReader(new FileReader(points))) {
-
-                String line;
-                while ((line = in.readLine()) != null) { //read the input line by line
-
-                    if (!line.equals("\n") && !line.isEmpty()) { //when line can be read
-
-                        String first = line.replaceAll("(\\d+\\.?\\d*)[^\\d]+\\d+\\.?\\d*", "$1"); //get first number
-                        String second = line.replaceAll("\\d+\\.?\\d*[^\\d]+(\\d+\\.?\\d*)", "$1"); //get second number
+        for (int i = 0; i < coordinates.size(); i += 2) { //convert the coordinates to MyPoint instances
+            addedPoints.add(new MyPoint(coordinates.get(i), coordinates.get(i + 1), color));
+        }
+        return addedPoints;
+    }
 
-                        if (!first.equals("") && !second.equals("")) {
+    /**
+     * Reads the file from the given filepath like readPoints, but returns the coordinates of the points instead of MyPoint
+     * instances. When an unexpected character is found, the rest of the file is not read and an error-dialog is shown.
+     * Big files are parsed on several threads (see setParallelism). The number of parsed points and the time are counted in
+     * the ReaderMetrics of Metrics and recorded as a LoadEvent for the Flight Recorder.
+     *
+     * @param path the path of the file from with to read the coordinates
+     * @return list that holds the x and y coordinates of the points one after another
+     */
+    public DoubleList readCoordinates(String path) {
 
-                            try {
-                                //convert numbers to double-values and add them to the list
-                                addedPoints.add(new MyPoint(Double.parseDouble(first), Double.parseDouble(second), color));
+        DoubleList coordinates = new DoubleList();
+        File points = new File(path); //get File instance of given path
 
-                            } catch (NumberFormatException numberFormatException) {
+        if (points.exists() && points.canRead()) {
 
-                                //Show error-dialog
-                                Alert alert = new Alert(Alert.AlertType.ERROR);
-                                alert.setTitle("Unexpected character");
-                                alert.setContentText("Found unexpected character in the selected file!");
-                                alert.showAndWait();
-                                numberFormatException.printStackTrace();
-                            }
-                        }
-                    }
+            boolean isParallel = parallelism > 1 && points.length() > PARALLEL_FILE_SIZE;
+            PointParser parser = new PointParser();
+            ParallelPointParser parallelParser = isParallel ? new ParallelPointParser(parallelism) : null;
+
+            LoadEvent event = new LoadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try (FileChannel in = FileChannel.open(points.toPath(), StandardOpenOption.READ)) {
+
+                if (isParallel) parallelParser.parse(in, coordinates); //read chunks of the input at the same time
+                else parser.parse(in, coordinates); //read the input block by block
+                Metrics.getInstance().getReader().recordFile(coordinates.size() / 2, points.length(), System.nanoTime() - start);
+
+                event.end();
+                if (event.shouldCommit()) { //only when the Flight Recorder records the event
+                    event.file = path;
+                    event.bytes = points.length();
+                    event.points = coordinates.size() / 2;
+                    event.threads = isParallel ? parallelism : 1;
+                    event.commit();
                 }
                 //in is automatically being closed
-            } catch (IOException ignored) {}
+            } catch (NumberFormatException numberFormatException) {
+
+                //Show error-dialog
+                int lineNumber = isParallel ? parallelParser.getLineNumber() : parser.getLineNumber();
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Unexpected character");
+                alert.setContentText("Found unexpected character in line " + lineNumber + " of the selected file!");
+                alert.showAndWait();
+                numberFormatException.printStackTrace();
+
+            } catch (IOException ignored) {
+            } finally {
+                if (isParallel) parallelParser.shutdown();
+            }
         }
-        return addedPoints;
+        return coordinates;
     }
 }
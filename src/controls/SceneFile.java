@@ -0,0 +1,182 @@
+package controls;
+
+import geoviz.ShapeModel;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves and loads all points, lines and circles of a ShapeModel in a binary file. The file starts with a header of 32
+ * bytes (magic number, version and the number of points, lines and circles as little-endian integers). After the header
+ * each value of the shapes is stored as one column (like the arrays of ShapeModel): first all double columns, then all
+ * integer columns and at last the byte column, so every column starts at a multiple of its size. The columns are
+ * memory-mapped and copied in bulk from and to the arrays of the model.
+ */
+public class SceneFile {
+
+
+    //Static variables
+    public static final String EXTENSION = "gvscene";
+    private static final int MAGIC = 0x43535647; //"GVSC" in little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+
+    //Object methods
+
+    /**
+     * Creates a File-Chooser that only can select scene files. When an acceptable file is selected and the open-button
+     * (or save-button) is pressed it returns the absolute file-path of the file. Else it returns null.
+     *
+     * @param isSaving true when the file is chosen to save a scene and false when it is chosen to load one
+     * @return a String instance that represents the absolute file-path of the selected file. When saving the extension is
+     * added if it is missing. If nothing was selected it returns null.
+     */
+    public String getFilePath(boolean isSaving) {
+
+        JFileChooser jfc = new JFileChooser("src" + File.separator + "load"); //new file-chooser instance
+        jfc.setDialogTitle(isSaving ? "Choose file to save your scene" : "Choose file that holds your scene");
+
+        jfc.setAcceptAllFileFilterUsed(false); //only scene files can be selected
+        jfc.addChoosableFileFilter(new FileNameExtensionFilter("scene file", EXTENSION));
+
+        int result = isSaving ? jfc.showSaveDialog(null) : jfc.showOpenDialog(null);
+        if (result != JFileChooser.APPROVE_OPTION) return null; //in case nothing was selected
+
+        String path = jfc.getSelectedFile().getAbsolutePath();
+        return isSaving && !path.endsWith("." + EXTENSION) ? path + "." + EXTENSION : path;
+    }
+
+    /**
+     * Saves all points, lines and circles of the given model in the file of the given path. An existing file is
+     * overwritten.
+     *
+     * @param model the model to save
+     * @param path  the path of the file
+     * @throws IOException when the file cannot be written
+     */
+    public void save(ShapeModel model, String path) throws IOException {
+
+        int points = model.getPointCount();
+        int lines = model.getLineCount();
+        int circles = model.getCircleCount();
+
+        try (FileChannel out = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            map(out, FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(points).putInt(lines).putInt(circles);
+
+            long offset = HEADER_SIZE;
+            offset = putDoubles(out, offset, model.getPointX(), points); //double columns
+            offset = putDoubles(out, offset, model.getPointY(), points);
+            offset = putDoubles(out, offset, model.getLineStartX(), lines);
+            offset = putDoubles(out, offset, model.getLineStartY(), lines);
+            offset = putDoubles(out, offset, model.getLineEndX(), lines);
+            offset = putDoubles(out, offset, model.getLineEndY(), lines);
+            offset = putDoubles(out, offset, model.getCircleX(), circles);
+            offset = putDoubles(out, offset, model.getCircleY(), circles);
+            offset = putDoubles(out, offset, model.getCircleRadius(), circles);
+
+            offset = putInts(out, offset, model.getPointColor(), points); //integer columns
+            offset = putInts(out, offset, model.getLineColor(), lines);
+            offset = putInts(out, offset, model.getCircleColor(), circles);
+
+            MappedByteBuffer filled = map(out, FileChannel.MapMode.READ_WRITE, offset, circles); //byte column
+            for (int i = 0; i < circles; i++) filled.put(model.getCircleFilled()[i] ? (byte) 1 : (byte) 0);
+        }
+    }
+
+    /**
+     * Replaces all points, lines and circles of the given model by the ones of the file of the given path.
+     *
+     * @param path  the path of the file
+     * @param model the model to fill
+     * @throws IOException when the file cannot be read or is not a scene file of a known version
+     */
+    public void load(String path, ShapeModel model) throws IOException {
+
+        try (FileChannel in = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+
+            if (in.size() < HEADER_SIZE) throw new IOException("Not a scene file: " + path);
+            ByteBuffer header = map(in, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+
+            if (header.getInt() != MAGIC) throw new IOException("Not a scene file: " + path);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported version " + version + " of scene file: " + path);
+
+            int points = header.getInt();
+            int lines = header.getInt();
+            int circles = header.getInt();
+            if (points < 0 || lines < 0 || circles < 0 || in.size() < HEADER_SIZE + 8L * (2L * points + 4L * lines + 3L * circles)
+                    + 4L * ((long) points + lines + circles) + circles) {
+                throw new IOException("Scene file is incomplete: " + path);
+            }
+
+            //map the columns in the order they are stored
+            long offset = HEADER_SIZE;
+            ByteBuffer pointX = map(in, FileChannel.MapMode.READ_ONLY, offset, 8L * points);
+            ByteBuffer pointY = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * points, 8L * points);
+            ByteBuffer lineStartX = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * points, 8L * lines);
+            ByteBuffer lineStartY = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * lines, 8L * lines);
+            ByteBuffer lineEndX = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * lines, 8L * lines);
+            ByteBuffer lineEndY = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * lines, 8L * lines);
+            ByteBuffer circleX = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * lines, 8L * circles);
+            ByteBuffer circleY = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * circles, 8L * circles);
+            ByteBuffer circleRadius = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * circles, 8L * circles);
+            ByteBuffer pointColor = map(in, FileChannel.MapMode.READ_ONLY, offset += 8L * circles, 4L * points);
+            ByteBuffer lineColor = map(in, FileChannel.MapMode.READ_ONLY, offset += 4L * points, 4L * lines);
+            ByteBuffer circleColor = map(in, FileChannel.MapMode.READ_ONLY, offset += 4L * lines, 4L * circles);
+            ByteBuffer circleFilled = map(in, FileChannel.MapMode.READ_ONLY, offset + 4L * circles, circles);
+
+            model.clear();
+            model.addPoints(pointX.asDoubleBuffer(), pointY.asDoubleBuffer(), pointColor.asIntBuffer(), points);
+            model.addLines(lineStartX.asDoubleBuffer(), lineStartY.asDoubleBuffer(), lineEndX.asDoubleBuffer(), lineEndY.asDoubleBuffer(),
+                    lineColor.asIntBuffer(), lines);
+            model.addCircles(circleX.asDoubleBuffer(), circleY.asDoubleBuffer(), circleRadius.asDoubleBuffer(), circleFilled,
+                    circleColor.asIntBuffer(), circles);
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Maps the given region of the file as little-endian buffer.
+     */
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long offset, long size) throws IOException {
+
+        MappedByteBuffer buffer = channel.map(mode, offset, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Writes the first count values of the given array as column at the given offset.
+     *
+     * @return the offset after the column
+     */
+    private static long putDoubles(FileChannel channel, long offset, double[] values, int count) throws IOException {
+
+        map(channel, FileChannel.MapMode.READ_WRITE, offset, 8L * count).asDoubleBuffer().put(values, 0, count);
+        return offset + 8L * count;
+    }
+
+    /**
+     * Writes the first count values of the given array as column at the given offset.
+     *
+     * @return the offset after the column
+     */
+    private static long putInts(FileChannel channel, long offset, int[] values, int count) throws IOException {
+
+        map(channel, FileChannel.MapMode.READ_WRITE, offset, 4L * count).asIntBuffer().put(values, 0, count);
+        return offset + 4L * count;
+    }
+}
@@ -3,18 +3,26 @@ package controls;
 import graphics.Window;
 import javafx.application.Application;
 
+import java.util.Arrays;
+
 /**
  * Starting-class for the Program
  */
 public class StartProject {
 
     /**
-     * Start-function to launches the application
+     * Start-function to launches the application. With --batch as first argument no window is opened: the intersections of
+     * the shapes of the given files are written to the console by the BatchRunner (see --batch --help) and the JavaFX
+     * toolkit is never started.
      *
      * @param args given arguments
      */
     public static void main(String[] args) {
 
+        if (args.length > 0 && args[0].equals("--batch")) { //headless mode
+            System.exit(new BatchRunner().run(Arrays.copyOfRange(args, 1, args.length), System.in, System.out, System.err));
+        }
+
         Application.launch(Window.class);
     }
 }
@@ -0,0 +1,320 @@
+package datascructures;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Represents a quadtree over points that are identified by int values. Every node knows the number of points below it and
+ * the sum of their coordinates, so the points of a whole area can be replaced by one cluster at their centroid. That makes
+ * it a multi-resolution view of the points: the smaller the cells that are asked for, the deeper the tree is walked and the
+ * more clusters (or single points) are returned. The points are stored in the leaves; a leaf with too many points is
+ * split. When a point lies outside the tree, the tree grows: the root becomes a quarter of a new root that is twice as big.
+ * Points with coordinates that are not finite are kept in an extra list.
+ */
+public class DensityQuadTree {
+
+
+    //Static variables
+    private static final int NODE_CAPACITY = 32; //leaves with more points are split
+    private static final int MAX_DEPTH = 20; //nodes smaller than the start size divided by 2^MAX_DEPTH are not split
+
+
+    //Object variables
+    private final double startMinX; //bounds of the root after clear
+    private final double startMinY;
+    private final double startSize;
+    private final double minNodeSize;
+
+    private Node root;
+    private final IntList unbounded = new IntList(); //points that cannot be placed in the tree
+    private int size = 0;
+
+
+    //Constructor
+    public DensityQuadTree(double minX, double minY, double size) {
+
+        startMinX = minX;
+        startMinY = minY;
+        startSize = size;
+        minNodeSize = size / (1 << MAX_DEPTH);
+        clear();
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds a point with the given id to the tree.
+     *
+     * @param id the value that identifies the point
+     * @param x  the x-coordinate of the point
+     * @param y  the y-coordinate of the point
+     */
+    public void insert(int id, double x, double y) {
+
+        size++;
+        if (!(Double.isFinite(x) && Double.isFinite(y))) {
+            unbounded.add(id);
+            return;
+        }
+
+        while (!root.contains(x, y)) grow(x, y);
+
+        Node node = root;
+        while (true) {
+
+            node.count++; //each node on the way gets the point
+            node.sumX += x;
+            node.sumY += y;
+            if (node.children == null) break;
+            node = node.children[node.quarterOf(x, y)];
+        }
+        node.add(id, x, y);
+        if (node.pointCount > NODE_CAPACITY && node.size / 2 >= minNodeSize) split(node);
+    }
+
+    /**
+     * Adds the ids of all points that lie in the given area to the given list. The order of the ids is not defined.
+     * Points with coordinates that are not finite are always added.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param result the list to add the ids to
+     */
+    public void query(double minX, double minY, double maxX, double maxY, IntList result) {
+
+        for (int i = 0; i < unbounded.size(); i++) result.add(unbounded.get(i));
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+
+            Node node = stack.pop();
+            if (node.count == 0 || !node.intersects(minX, minY, maxX, maxY)) continue;
+
+            if (node.children != null) for (Node child : node.children) stack.push(child);
+            else node.addPointsIn(minX, minY, maxX, maxY, result);
+        }
+    }
+
+    /**
+     * Returns the id of the point that is nearest to the given position, as long as it is not farther away than the given
+     * distance. Nodes are visited nearest first and nodes that are farther away than the best point found so far are
+     * skipped, so only a few nodes around the position are visited. When several points have the same distance, the
+     * one with the biggest id is returned.
+     *
+     * @param x           the x-coordinate of the position
+     * @param y           the y-coordinate of the position
+     * @param maxDistance the biggest distance between the point and the position
+     * @return the id of the nearest point or -1 when there is no point within the distance
+     */
+    public int nearest(double x, double y, double maxDistance) {
+
+        int nearest = -1;
+        double nearestDistance = maxDistance * maxDistance; //squared distances are compared
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+
+            Node node = stack.pop();
+            if (node.count == 0 || node.squaredDistanceTo(x, y) > nearestDistance) continue;
+
+            if (node.children == null) {
+                for (int i = 0; i < node.pointCount; i++) {
+
+                    double distance = (node.xs[i] - x) * (node.xs[i] - x) + (node.ys[i] - y) * (node.ys[i] - y);
+                    if (distance < nearestDistance || (distance == nearestDistance && node.ids[i] > nearest)) {
+                        nearest = node.ids[i];
+                        nearestDistance = distance;
+                    }
+                }
+                continue;
+            }
+
+            Node[] children = node.children.clone(); //the nearest child is pushed last, so it is visited first
+            Arrays.sort(children, (child1, child2) -> Double.compare(child2.squaredDistanceTo(x, y), child1.squaredDistanceTo(x, y)));
+            for (Node child : children) stack.push(child);
+        }
+        return nearest;
+    }
+
+    /**
+     * Returns the points of the given area in the resolution of the given cell size. Nodes that are not bigger than a
+     * cell and hold more than the given number of points are returned as one cluster (x and y of the centroid and the
+     * number of points are added to the clusters list). All other points of the area are added one by one to the points
+     * list, so the number of results depends on the number of cells in the area and not on the number of points.
+     *
+     * @param minX       the smallest x-coordinate of the area
+     * @param minY       the smallest y-coordinate of the area
+     * @param maxX       the biggest x-coordinate of the area
+     * @param maxY       the biggest y-coordinate of the area
+     * @param cellSize   the size of the cells, nodes up to this size can be clustered
+     * @param pointLimit nodes with up to this number of points are never clustered
+     * @param points     the list to add the ids of the single points to (the order is not defined)
+     * @param clusters   the list to add x, y and the number of points of each cluster to
+     */
+    public void aggregate(double minX, double minY, double maxX, double maxY, double cellSize, int pointLimit, IntList points,
+                          DoubleList clusters) {
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+
+            Node node = stack.pop();
+            if (node.count == 0 || !node.intersects(minX, minY, maxX, maxY)) continue;
+
+            if (node.count > pointLimit && node.size <= cellSize) { //the node is drawn as one cluster
+                clusters.add(node.sumX / node.count);
+                clusters.add(node.sumY / node.count);
+                clusters.add(node.count);
+            } else if (node.children != null) for (Node child : node.children) stack.push(child);
+            else node.addPointsIn(minX, minY, maxX, maxY, points);
+        }
+    }
+
+    /**
+     * Removes all points from the tree.
+     */
+    public void clear() {
+        root = new Node(startMinX, startMinY, startSize);
+        unbounded.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of points in the tree.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Makes the root a quarter of a new root that is twice as big. The new root grows in the direction of the given point.
+     */
+    private void grow(double x, double y) {
+
+        double newMinX = x < root.minX ? root.minX - root.size : root.minX;
+        double newMinY = y < root.minY ? root.minY - root.size : root.minY;
+        Node newRoot = new Node(newMinX, newMinY, root.size * 2);
+
+        newRoot.split();
+        newRoot.children[newRoot.quarterOf(root.minX, root.minY)] = root;
+        newRoot.ids = null; //only leaves hold points
+        newRoot.xs = null;
+        newRoot.ys = null;
+        newRoot.count = root.count;
+        newRoot.sumX = root.sumX;
+        newRoot.sumY = root.sumY;
+        root = newRoot;
+    }
+
+    /**
+     * Creates the children of the given leaf and moves its points to them.
+     */
+    private void split(Node node) {
+
+        node.split();
+        for (int i = 0; i < node.pointCount; i++) {
+
+            double x = node.xs[i];
+            double y = node.ys[i];
+            Node child = node.children[node.quarterOf(x, y)];
+            child.count++;
+            child.sumX += x;
+            child.sumY += y;
+            child.add(node.ids[i], x, y);
+        }
+        node.ids = null; //only leaves hold points
+        node.xs = null;
+        node.ys = null;
+        node.pointCount = 0;
+
+        for (Node child : node.children) {
+            if (child.pointCount > NODE_CAPACITY && child.size / 2 >= minNodeSize) split(child);
+        }
+    }
+
+
+    //Inner classes
+
+    /**
+     * A square area of the tree with the number of points below it and the sum of their coordinates.
+     */
+    private static class Node {
+
+        private final double minX;
+        private final double minY;
+        private final double size;
+        private int count = 0; //points below this node
+        private double sumX = 0;
+        private double sumY = 0;
+
+        private int[] ids = new int[NODE_CAPACITY]; //points of a leaf
+        private double[] xs = new double[NODE_CAPACITY];
+        private double[] ys = new double[NODE_CAPACITY];
+        private int pointCount = 0;
+        private Node[] children; //null for leaves
+
+        private Node(double minX, double minY, double size) {
+            this.minX = minX;
+            this.minY = minY;
+            this.size = size;
+        }
+
+        private void add(int id, double x, double y) {
+
+            if (pointCount == ids.length) {
+                ids = Arrays.copyOf(ids, pointCount * 2);
+                xs = Arrays.copyOf(xs, pointCount * 2);
+                ys = Arrays.copyOf(ys, pointCount * 2);
+            }
+            ids[pointCount] = id;
+            xs[pointCount] = x;
+            ys[pointCount] = y;
+            pointCount++;
+        }
+
+        private void addPointsIn(double minX, double minY, double maxX, double maxY, IntList result) {
+            for (int i = 0; i < pointCount; i++) {
+                if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY) result.add(ids[i]);
+            }
+        }
+
+        private void split() {
+
+            double half = size / 2;
+            children = new Node[]{new Node(minX, minY, half), new Node(minX + half, minY, half),
+                    new Node(minX, minY + half, half), new Node(minX + half, minY + half, half)};
+        }
+
+        private boolean contains(double x, double y) {
+            return x >= minX && y >= minY && x <= minX + size && y <= minY + size;
+        }
+
+        private double squaredDistanceTo(double x, double y) {
+
+            double dx = Math.max(Math.max(minX - x, 0), x - (minX + size));
+            double dy = Math.max(Math.max(minY - y, 0), y - (minY + size));
+            return dx * dx + dy * dy;
+        }
+
+        private boolean intersects(double minX, double minY, double maxX, double maxY) {
+            return this.minX <= maxX && this.minY <= maxY && this.minX + size >= minX && this.minY + size >= minY;
+        }
+
+        /**
+         * Returns the index of the quarter that holds the given point.
+         */
+        private int quarterOf(double x, double y) {
+            return (x >= minX + size / 2 ? 1 : 0) + (y >= minY + size / 2 ? 2 : 0);
+        }
+    }
+}
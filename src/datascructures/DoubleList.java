@@ -0,0 +1,103 @@
+package datascructures;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growable list of primitive double values that are stored one after another in an array
+ */
+public class DoubleList {
+
+
+    //Object variables
+    private double[] values;
+    private int size = 0;
+
+
+    //Constructors
+    public DoubleList() {
+        values = new double[16];
+    }
+
+    public DoubleList(int capacity) {
+        values = new double[Math.max(capacity, 1)];
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds the given value at the end of the list
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+
+        if (size == values.length) values = Arrays.copyOf(values, values.length * 2); //grow array
+        values[size++] = value;
+    }
+
+    /**
+     * Adds all values of the given list at the end of this list
+     *
+     * @param other the list whose values are added
+     */
+    public void addAll(DoubleList other) {
+
+        if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Grows the array once, so the given number of values fits into the list without copying the array again
+     *
+     * @param capacity the number of values the list must be able to hold
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Returns the value at the given index of the list
+     *
+     * @param i represents the index of the list
+     * @return the value at the given index
+     */
+    public double get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Returns the number of values in the list
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the given number of values from the end of the list
+     *
+     * @param count the number of values to remove
+     */
+    public void removeLast(int count) {
+        size = Math.max(size - count, 0);
+    }
+
+    /**
+     * Removes all values from the list. The array is kept, so the list can be filled again without allocations.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a new array that holds the values of the list
+     *
+     * @return array with all values of the list
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
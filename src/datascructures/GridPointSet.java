@@ -0,0 +1,331 @@
+package datascructures;
+
+import java.util.Arrays;
+
+/**
+ * Represents a set of points in which points that lie closer together than a tolerance are stored only once. The plane is
+ * divided into square cells with the size of the tolerance and each stored point is registered at its cell in a hash table
+ * with primitive long keys (the column and row of the cell). A new point is compared with the points of its own and the
+ * eight neighbouring cells, so two points are merged exactly when both coordinates differ by less than the tolerance. For
+ * each stored point the number of added points that were merged into it is counted. The nearest point around a position
+ * is found with a second grid whose cells have the size of the search radius; it is only built when it is searched and
+ * then extended by the points that were stored since the last search. The points in an area are found with a
+ * DensityQuadTree that is extended the same way, so the time depends on the number of points in the area.
+ */
+public class GridPointSet {
+
+
+    //Static variables
+    private static final int AREA_TREE_DEPTH = 20; //the smallest nodes of the area tree are about as big as the tolerance
+
+
+    //Object variables
+    private final double tolerance;
+
+    private final DoubleList xs = new DoubleList(); //stored points one after another
+    private final DoubleList ys = new DoubleList();
+    private int[] counts = new int[16];
+
+    private final CellTable cells = new CellTable(); //cells of the tolerance to the index of their point
+
+    private final CellTable searchCells = new CellTable(); //cells of the search radius to the last point in them
+    private int[] nextInCell = new int[16]; //the point before each point in the same search cell, -1 for the first one
+    private double searchCellSize = 0; //0 before the first search
+    private int searchedCount = 0; //points that are registered in the search cells
+
+    private final DensityQuadTree areaTree; //the points by their index, for the points in an area
+    private int areaCount = 0; //points that are inserted into the area tree
+
+
+    //Constructor
+    public GridPointSet(double tolerance) {
+
+        if (!(tolerance > 0)) throw new IllegalArgumentException("tolerance must be positive");
+        this.tolerance = tolerance;
+        double areaTreeSize = Math.scalb(1.0, Math.getExponent(tolerance) + AREA_TREE_DEPTH); //a power of two, so the
+        areaTree = new DensityQuadTree(0, 0, areaTreeSize); //bounds of the nodes stay exact when the tree grows
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds the given point. When a stored point lies within the tolerance, its count is increased instead.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return the index of the stored point the given point belongs to
+     */
+    public int add(double x, double y) {
+
+        if (!(Double.isFinite(x) && Double.isFinite(y))) return store(x, y); //cannot be placed in a cell
+
+        long column = (long) Math.floor(x / tolerance);
+        long row = (long) Math.floor(y / tolerance);
+
+        for (long c = column - 1; c <= column + 1; c++) { //points within the tolerance lie in the neighbouring cells
+            for (long r = row - 1; r <= row + 1; r++) {
+
+                int point = cells.get(c, r);
+                if (point >= 0 && Math.abs(xs.get(point) - x) < tolerance && Math.abs(ys.get(point) - y) < tolerance) {
+                    counts[point]++;
+                    return point;
+                }
+            }
+        }
+
+        int point = store(x, y);
+        if (cells.get(column, row) < 0) cells.put(column, row, point); //a cell holds the first point that was stored in it
+        return point;
+    }
+
+    /**
+     * Adds all points of the given list.
+     *
+     * @param coordinates list that holds the x and y coordinates of the points one after another
+     */
+    public void addAll(DoubleList coordinates) {
+        for (int i = 0; i + 1 < coordinates.size(); i += 2) add(coordinates.get(i), coordinates.get(i + 1));
+    }
+
+    /**
+     * Returns the index of the stored point that lies nearest to the given position within the given radius. Only the
+     * points in the search cells around the position are compared, so the time does not depend on the size of the set.
+     * Searching with another radius than before builds the search cells again.
+     *
+     * @param x      the x-coordinate of the position
+     * @param y      the y-coordinate of the position
+     * @param radius the maximal distance of the point to the position
+     * @return the index of the nearest point or -1 when no point lies within the radius
+     */
+    public int findNearest(double x, double y, double radius) {
+
+        if (!(radius > 0)) throw new IllegalArgumentException("radius must be positive");
+        if (radius != searchCellSize) { //the cells have the size of the radius
+            searchCells.clear();
+            searchCellSize = radius;
+            searchedCount = 0;
+        }
+        for (; searchedCount < size(); searchedCount++) registerSearchCell(searchedCount);
+
+        long column = (long) Math.floor(x / searchCellSize);
+        long row = (long) Math.floor(y / searchCellSize);
+        int nearest = -1;
+        double nearestDistance = radius * radius;
+
+        for (long c = column - 1; c <= column + 1; c++) { //points within the radius lie in the neighbouring cells
+            for (long r = row - 1; r <= row + 1; r++) {
+                for (int point = searchCells.get(c, r); point >= 0; point = nextInCell[point]) {
+
+                    double dx = xs.get(point) - x;
+                    double dy = ys.get(point) - y;
+                    if (dx * dx + dy * dy <= nearestDistance) {
+                        nearest = point;
+                        nearestDistance = dx * dx + dy * dy;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Adds the indices of the stored points that lie in the given area to the given list, in ascending order. Only the
+     * nodes of the area tree that reach into the area are visited, so the time does not depend on the size of the set.
+     * Points with coordinates that are not finite are always added.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param result the list to add the indices to
+     */
+    public void findInArea(double minX, double minY, double maxX, double maxY, IntList result) {
+
+        for (; areaCount < size(); areaCount++) areaTree.insert(areaCount, xs.get(areaCount), ys.get(areaCount));
+
+        int start = result.size();
+        areaTree.query(minX, minY, maxX, maxY, result);
+        result.sort(start); //in the order of the set, like iterating over all indices
+    }
+
+    /**
+     * Returns the number of stored (different) points.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return xs.size();
+    }
+
+    /**
+     * Returns the x-coordinate of the stored point with the given index.
+     *
+     * @param i the index of the point
+     * @return the x-coordinate of the point
+     */
+    public double getX(int i) {
+        return xs.get(i);
+    }
+
+    /**
+     * Returns the y-coordinate of the stored point with the given index.
+     *
+     * @param i the index of the point
+     * @return the y-coordinate of the point
+     */
+    public double getY(int i) {
+        return ys.get(i);
+    }
+
+    /**
+     * Returns how many added points were merged into the stored point with the given index.
+     *
+     * @param i the index of the point
+     * @return the number of added points at this position (at least 1)
+     */
+    public int getCount(int i) {
+        return counts[i];
+    }
+
+    /**
+     * Removes all points. The arrays are kept, so the set can be filled again without allocations.
+     */
+    public void clear() {
+
+        xs.clear();
+        ys.clear();
+        cells.clear();
+        searchCells.clear();
+        searchedCount = 0;
+        areaTree.clear();
+        areaCount = 0;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Appends a new point with a count of 1.
+     */
+    private int store(double x, double y) {
+
+        int point = xs.size();
+        xs.add(x);
+        ys.add(y);
+        if (point == counts.length) counts = Arrays.copyOf(counts, point * 2);
+        counts[point] = 1;
+        return point;
+    }
+
+    /**
+     * Adds the stored point with the given index to its search cell. Points that cannot be placed in a cell are never
+     * found.
+     */
+    private void registerSearchCell(int point) {
+
+        if (point == nextInCell.length) nextInCell = Arrays.copyOf(nextInCell, point * 2);
+        nextInCell[point] = -1;
+
+        double x = xs.get(point);
+        double y = ys.get(point);
+        if (!(Double.isFinite(x) && Double.isFinite(y))) return;
+
+        long column = (long) Math.floor(x / searchCellSize);
+        long row = (long) Math.floor(y / searchCellSize);
+        nextInCell[point] = searchCells.get(column, row); //the point becomes the first of its cell
+        searchCells.put(column, row, point);
+    }
+
+
+    //Inner classes
+
+    /**
+     * Hash table with primitive keys from cells (column and row) to an int value. It uses linear probing and doubles its
+     * size when it is half full.
+     */
+    private static class CellTable {
+
+        private long[] keyColumns = new long[64];
+        private long[] keyRows = new long[64];
+        private int[] values = new int[64]; //-1 marks an empty slot
+        private int used = 0; //occupied slots of the table
+
+        private CellTable() {
+            Arrays.fill(values, -1);
+        }
+
+        /**
+         * Returns the value of the given cell or -1 when the cell has no value.
+         */
+        private int get(long column, long row) {
+            return values[findSlot(column, row)];
+        }
+
+        /**
+         * Sets the value of the given cell.
+         */
+        private void put(long column, long row, int value) {
+
+            int slot = findSlot(column, row);
+            boolean isNew = values[slot] < 0;
+            keyColumns[slot] = column;
+            keyRows[slot] = row;
+            values[slot] = value;
+            if (isNew && ++used * 2 > values.length) grow();
+        }
+
+        /**
+         * Removes all cells. The arrays are kept.
+         */
+        private void clear() {
+            Arrays.fill(values, -1);
+            used = 0;
+        }
+
+        /**
+         * Returns the slot of the given cell in the hash table or the empty slot where it would be inserted.
+         */
+        private int findSlot(long column, long row) {
+
+            int mask = values.length - 1;
+            int slot = hash(column, row) & mask;
+            while (values[slot] >= 0 && (keyColumns[slot] != column || keyRows[slot] != row)) slot = (slot + 1) & mask; //linear probing
+            return slot;
+        }
+
+        /**
+         * Doubles the size of the hash table and inserts all cells again.
+         */
+        private void grow() {
+
+            long[] oldColumns = keyColumns;
+            long[] oldRows = keyRows;
+            int[] oldValues = values;
+
+            keyColumns = new long[oldValues.length * 2];
+            keyRows = new long[oldValues.length * 2];
+            values = new int[oldValues.length * 2];
+            Arrays.fill(values, -1);
+
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] < 0) continue;
+
+                int slot = findSlot(oldColumns[i], oldRows[i]);
+                keyColumns[slot] = oldColumns[i];
+                keyRows[slot] = oldRows[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        /**
+         * Mixes the column and the row of a cell to the hash code of the cell.
+         */
+        private static int hash(long column, long row) {
+
+            long h = column * 0x9E3779B97F4A7C15L + row * 0xC2B2AE3D27D4EB4FL;
+            h ^= h >>> 29;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
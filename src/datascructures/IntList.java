@@ -0,0 +1,117 @@
+package datascructures;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growable list of primitive int values that are stored one after another in an array
+ */
+public class IntList {
+
+
+    //Object variables
+    private int[] values;
+    private int size = 0;
+    private int[] buffer; //kept between the sorts by key, created on the first one
+
+
+    //Constructors
+    public IntList() {
+        values = new int[16];
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds the given value at the end of the list
+     *
+     * @param value the value to add
+     */
+    public void add(int value) {
+
+        if (size == values.length) values = Arrays.copyOf(values, values.length * 2); //grow array
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index of the list
+     *
+     * @param i represents the index of the list
+     * @return the value at the given index
+     */
+    public int get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Returns the number of values in the list
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the values of the list in ascending order
+     */
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * Sorts the values from the given index to the end of the list in ascending order
+     *
+     * @param fromIndex the index of the first value to sort
+     */
+    public void sort(int fromIndex) {
+        Arrays.sort(values, fromIndex, size);
+    }
+
+    /**
+     * Sorts the values of the list so the keys at the values are in descending order. Values with the same key keep their
+     * order (merge sort, the buffer for the merging is kept for the next sort).
+     *
+     * @param keys the key of each value, for example the radius of the circle with the value as index
+     */
+    public void sortDescending(double[] keys) {
+
+        if (buffer == null || buffer.length < size) buffer = new int[values.length];
+
+        for (int width = 1; width < size; width *= 2) { //merge the sorted runs of the given width in pairs
+            for (int from = 0; from + width < size; from += 2 * width) {
+
+                int middle = from + width;
+                int to = Math.min(from + 2 * width, size);
+                System.arraycopy(values, from, buffer, from, to - from);
+
+                int left = from;
+                int right = middle;
+                int i = from;
+                while (left < middle && right < to) values[i++] = keys[buffer[right]] > keys[buffer[left]] ? buffer[right++] : buffer[left++];
+                while (left < middle) values[i++] = buffer[left++];
+                while (right < to) values[i++] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Removes all values from the list. The array is kept, so the list can be filled again without allocations.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a new array that holds the values of the list
+     *
+     * @return array with all values of the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
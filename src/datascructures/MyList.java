@@ -1,139 +1,171 @@
 package datascructures;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
- * Represents a list structure where each node-element only knows its successor
+ * Represents a list structure where the elements are stored one after another in a growable array, so each element can
+ * be accessed directly by its index
  */
-public class MyList<T> {
+public class MyList<T> implements Iterable<T> {
 
 
     //Object variables
-    private Node<T> root;
-    private Node<T> currentlyLast;
+    private Object[] elements;
     private int size = 0;
+    private int modifications = 0; //to detect changes of the list while iterating
 
 
     //Constructors
     public MyList() {
+        elements = new Object[16];
     }
 
     public MyList(T value) {
 
-        Node<T> root = new Node<>(value); //Root node being initialized
-
-        this.root = root;
-        this.currentlyLast = root;
-        this.size++;
+        this();
+        add(value);
     }
 
 
     //Object methods
 
     /**
-     * Adds a node with a given value at the current end of the list
+     * Adds the given value at the current end of the list
      *
-     * @param value the value of the new node
+     * @param value the value to add
      */
     public void add(T value) {
 
-        Node<T> newNode = new Node<>(value);
-        this.size++;
-
-        if (this.root == null) { //if list is empty new node becomes root
+        if (size == elements.length) elements = Arrays.copyOf(elements, elements.length * 2); //grow array
+        elements[size++] = value;
+        modifications++;
+    }
 
-            this.root = newNode;
-        } else { //new node is attached to list
+    /**
+     * Adds all values of the given list at the end of this list
+     *
+     * @param other the list whose values are added
+     */
+    public void addAll(MyList<? extends T> other) {
 
-            this.currentlyLast.setNext(newNode);
-        }
+        int otherSize = other.size; //read before in case other is this list
+        if (size + otherSize > elements.length) elements = Arrays.copyOf(elements, Math.max(elements.length * 2, size + otherSize));
 
-        this.currentlyLast = newNode;
+        System.arraycopy(other.elements, 0, elements, size, otherSize);
+        size += otherSize;
+        modifications++;
     }
 
     /**
-     * Returns the value of the node at the desired index of the list. When there is no node with the given index null
-     * is returned.
+     * Returns the value at the desired index of the list. When there is no value with the given index null is returned.
      *
      * @param i represents the index of the list
-     * @return the value of the node at the desired index
+     * @return the value at the desired index
      */
+    @SuppressWarnings("unchecked")
     public T get(int i) {
 
         if (i < 0 || i > this.size - 1) { //index out of bounds
             return null;
         }
-
-        Node<T> searchNode = root;
-
-        if (i != 0) { //when not searching for root
-
-            while (i > 0) {
-
-                searchNode = searchNode.getNext();
-                i--;
-            }
-        }
-        return searchNode.getContent();
+        return (T) elements[i];
     }
 
     /**
-     * Removes the node, which contains the given integer value from the list. Returns a boolean whether the value was
-     * successfully removed.
+     * Removes the first element that is the given value (the same instance) from the list. The following elements move
+     * one position to the front. Returns a boolean whether the value was successfully removed.
      *
-     * @param value the given value which the removed node must have
-     * @return true if successfully deleted node and else false
+     * @param value the given value which the removed element must be
+     * @return true if successfully deleted element and else false
      */
     public boolean remove(T value) {
 
-        Node<T> currentSearch = root;
-        Node<T> lastNode = null;
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) { //if currently viewed element is the value
 
-        do {
-            if (currentSearch.getContent() == value) { //if currently viewed element contains the value
-
-                removeNode(lastNode, currentSearch);
+                System.arraycopy(elements, i + 1, elements, i, size - i - 1); //close the gap
+                elements[--size] = null; //so the removed value can be collected
+                modifications++;
                 return true;
-
-            } else { //point at next node
-
-                lastNode = currentSearch;
-                currentSearch = currentSearch.getNext();
             }
-
-        } while (currentSearch != null); //check next node
-
+        }
         return false; //if nothing found
     }
 
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
     /**
      * Returns whether the list is empty or not
      *
      * @return true if the list is empty and false otherwise
      */
     public boolean isEmpty() {
-        return root == null;
+        return size == 0;
     }
 
+    /**
+     * Returns a new array that holds the elements of the list in their order
+     *
+     * @return array with all elements of the list
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
 
-    //Helping methods
+    /**
+     * Returns an array of the type of the given array that holds the elements of the list in their order. When the given
+     * array is big enough it is filled, else a new array is created.
+     *
+     * @param array the array to fill, when it is big enough
+     * @return array with all elements of the list
+     */
+    @SuppressWarnings("unchecked")
+    public <E> E[] toArray(E[] array) {
+
+        if (array.length < size) return (E[]) Arrays.copyOf(elements, size, array.getClass());
+
+        System.arraycopy(elements, 0, array, 0, size);
+        if (array.length > size) array[size] = null; //mark the end of the elements
+        return array;
+    }
 
     /**
-     * Removes a given node of the MyList instance.
+     * Returns an iterator over the elements of the list in their order. The iterator fails when the list is changed
+     * while iterating.
      *
-     * @param lastNode   represents the predecessor of the node to be removed
-     * @param removeNode the node to be removed
+     * @return iterator over the elements
      */
-    private void removeNode(Node<T> lastNode, Node<T> removeNode) {
+    @Override
+    public Iterator<T> iterator() {
 
-        if (lastNode == null) { //when root is to be deleted, only pointer must be changed to new root
-            root = root.getNext();
-        } else { //pointer from predecessor must be changed to successor
-            lastNode.setNext(removeNode.getNext());
-        }
-        //Update the head, if it is affected (only if the current element also is the head)
-        if (currentlyLast == root) {
-            root = lastNode;
-        }
+        return new Iterator<T>() {
 
-        size--; //size is being updated
+            private int next = 0;
+            private final int expectedModifications = modifications;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+
+                if (modifications != expectedModifications) throw new ConcurrentModificationException();
+                if (next >= size) throw new NoSuchElementException();
+                return (T) elements[next++];
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package datascructures;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Represents a quadtree over axis-aligned boxes that are identified by int values. Each box is stored in the smallest node
+ * that contains it completely, so boxes that lie on the border between two children stay in the parent. When a box lies
+ * outside the tree, the tree grows: the root becomes a quarter of a new root that is twice as big. Boxes with coordinates
+ * that are not finite are kept in an extra list and returned by every query.
+ */
+public class QuadTree {
+
+
+    //Static variables
+    private static final int NODE_CAPACITY = 16; //nodes with more boxes are split
+    private static final int MAX_DEPTH = 20; //nodes smaller than the start size divided by 2^MAX_DEPTH are not split
+
+
+    //Object variables
+    private final double startMinX; //bounds of the root after clear
+    private final double startMinY;
+    private final double startSize;
+    private final double minNodeSize;
+
+    private Node root;
+    private final IntList unbounded = new IntList(); //boxes that cannot be placed in the tree
+    private int size = 0;
+
+
+    //Constructor
+    public QuadTree(double minX, double minY, double size) {
+
+        startMinX = minX;
+        startMinY = minY;
+        startSize = size;
+        minNodeSize = size / (1 << MAX_DEPTH);
+        clear();
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds a box with the given id to the tree.
+     *
+     * @param id   the value that identifies the box
+     * @param minX the smallest x-coordinate of the box
+     * @param minY the smallest y-coordinate of the box
+     * @param maxX the biggest x-coordinate of the box
+     * @param maxY the biggest y-coordinate of the box
+     */
+    public void insert(int id, double minX, double minY, double maxX, double maxY) {
+
+        size++;
+        if (!(Double.isFinite(minX) && Double.isFinite(minY) && Double.isFinite(maxX) && Double.isFinite(maxY))) {
+            unbounded.add(id);
+            return;
+        }
+
+        while (!root.contains(minX, minY, maxX, maxY)) grow(minX, minY);
+
+        Node node = root;
+        while (node.children != null) { //go down as long as a child contains the box
+
+            Node child = node.childContaining(minX, minY, maxX, maxY);
+            if (child == null) break;
+            node = child;
+        }
+        node.add(id, minX, minY, maxX, maxY);
+        if (node.children == null && node.count > NODE_CAPACITY && node.size / 2 >= minNodeSize) split(node);
+    }
+
+    /**
+     * Adds the ids of all boxes that intersect the given area to the given list. The order of the ids is not defined.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param result the list to add the ids to
+     */
+    public void query(double minX, double minY, double maxX, double maxY, IntList result) {
+
+        for (int i = 0; i < unbounded.size(); i++) result.add(unbounded.get(i));
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+
+            Node node = stack.pop();
+            if (node.minX > maxX || node.minY > maxY || node.minX + node.size < minX || node.minY + node.size < minY) continue; //outside the area
+
+            for (int i = 0; i < node.count; i++) {
+
+                int box = 4 * i;
+                if (node.boxes[box] <= maxX && node.boxes[box + 1] <= maxY && node.boxes[box + 2] >= minX && node.boxes[box + 3] >= minY) {
+                    result.add(node.ids[i]);
+                }
+            }
+            if (node.children != null) for (Node child : node.children) stack.push(child);
+        }
+    }
+
+    /**
+     * Removes all boxes from the tree.
+     */
+    public void clear() {
+        root = new Node(startMinX, startMinY, startSize);
+        unbounded.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of boxes in the tree.
+     *
+     * @return the number of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Makes the root a quarter of a new root that is twice as big. The new root grows in the direction of the given point.
+     */
+    private void grow(double x, double y) {
+
+        double newMinX = x < root.minX ? root.minX - root.size : root.minX;
+        double newMinY = y < root.minY ? root.minY - root.size : root.minY;
+        Node newRoot = new Node(newMinX, newMinY, root.size * 2);
+
+        newRoot.split();
+        newRoot.children[newRoot.quarterOf(root.minX, root.minY)] = root;
+        root = newRoot;
+    }
+
+    /**
+     * Creates the children of the given leaf and moves its boxes to the children that contain them completely.
+     */
+    private void split(Node node) {
+
+        node.split();
+        int[] ids = node.ids;
+        double[] boxes = node.boxes;
+        int count = node.count;
+        node.ids = new int[NODE_CAPACITY];
+        node.boxes = new double[4 * NODE_CAPACITY];
+        node.count = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            double minX = boxes[4 * i], minY = boxes[4 * i + 1], maxX = boxes[4 * i + 2], maxY = boxes[4 * i + 3];
+            Node child = node.childContaining(minX, minY, maxX, maxY);
+            if (child == null) node.add(ids[i], minX, minY, maxX, maxY); //box lies on the border of the children
+            else {
+                child.add(ids[i], minX, minY, maxX, maxY);
+                if (child.count > NODE_CAPACITY && child.size / 2 >= minNodeSize) split(child);
+            }
+        }
+    }
+
+
+    //Inner classes
+
+    /**
+     * A square area of the tree with the boxes that are stored in it.
+     */
+    private static class Node {
+
+        private final double minX;
+        private final double minY;
+        private final double size;
+        private int[] ids = new int[NODE_CAPACITY];
+        private double[] boxes = new double[4 * NODE_CAPACITY]; //minX, minY, maxX and maxY of each box
+        private int count = 0;
+        private Node[] children; //null for leaves
+
+        private Node(double minX, double minY, double size) {
+            this.minX = minX;
+            this.minY = minY;
+            this.size = size;
+        }
+
+        private void add(int id, double minX, double minY, double maxX, double maxY) {
+
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                boxes = Arrays.copyOf(boxes, count * 8);
+            }
+            ids[count] = id;
+            boxes[4 * count] = minX;
+            boxes[4 * count + 1] = minY;
+            boxes[4 * count + 2] = maxX;
+            boxes[4 * count + 3] = maxY;
+            count++;
+        }
+
+        private void split() {
+
+            double half = size / 2;
+            children = new Node[]{new Node(minX, minY, half), new Node(minX + half, minY, half),
+                    new Node(minX, minY + half, half), new Node(minX + half, minY + half, half)};
+        }
+
+        private boolean contains(double minX, double minY, double maxX, double maxY) {
+            return minX >= this.minX && minY >= this.minY && maxX <= this.minX + size && maxY <= this.minY + size;
+        }
+
+        /**
+         * Returns the index of the quarter that holds the given point.
+         */
+        private int quarterOf(double x, double y) {
+            return (x >= minX + size / 2 ? 1 : 0) + (y >= minY + size / 2 ? 2 : 0);
+        }
+
+        /**
+         * Returns the child that contains the given box completely or null when there is none.
+         */
+        private Node childContaining(double minX, double minY, double maxX, double maxY) {
+
+            Node child = children[quarterOf(minX, minY)];
+            return child.contains(minX, minY, maxX, maxY) ? child : null;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package geoviz;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid over the bounding boxes of circles. Each circle is stored in all cells its bounding box covers, so a line
+ * only has to look at the circles of the cells it crosses. Circles that would cover too many cells are kept in an extra
+ * list that is returned for every line.
+ */
+public class CircleSpatialHash {
+
+
+    //Static variables
+    private static final double PADDING = 0.000001; //bounding boxes are enlarged so that touching lines are found, too
+    private static final int MAX_CELLS_PER_CIRCLE = 64;
+
+
+    //Object variables
+    private double minX; //bounds of the grid
+    private double minY;
+    private double maxX;
+    private double maxY;
+    private double cellSize;
+    private int columns;
+    private int rows;
+
+    private int[] cellStart = new int[1]; //circles of cell c are cellCircles[cellStart[c]] to cellCircles[cellStart[c + 1] - 1]
+    private int[] cellCircles = new int[0];
+    private int[] bigCircles = new int[0]; //circles that are checked with every line
+
+    private int[] lastQuery = new int[0]; //to return each circle only once per line
+    private int queryNumber;
+    private int[] candidates = new int[16];
+
+
+    //Object methods
+
+    /**
+     * Fills the grid with the given circles. The size of the cells is chosen according to the average diameter of the
+     * circles. Circles that were added before are removed.
+     *
+     * @param centerX the x-coordinates of the centers
+     * @param centerY the y-coordinates of the centers
+     * @param radii   the radii of the circles
+     * @param count   the number of circles to use from the arrays
+     */
+    public void build(double[] centerX, double[] centerY, double[] radii, int count) {
+
+        lastQuery = new int[count];
+        queryNumber = 0;
+        if (count == 0) {
+            columns = 0;
+            rows = 0;
+            return;
+        }
+
+        //bounds of all circles and their average diameter
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        maxX = Double.NEGATIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+        double diameterSum = 0;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, centerX[i] - radii[i] - PADDING);
+            minY = Math.min(minY, centerY[i] - radii[i] - PADDING);
+            maxX = Math.max(maxX, centerX[i] + radii[i] + PADDING);
+            maxY = Math.max(maxY, centerY[i] + radii[i] + PADDING);
+            diameterSum += 2 * radii[i];
+        }
+
+        //about one circle per cell, but not more than four cells per circle
+        double area = (maxX - minX) * (maxY - minY);
+        cellSize = Math.max(diameterSum / count, Math.sqrt(area / (4.0 * count)));
+        if (!(cellSize > 0)) cellSize = 1; //in case all circles are points or the input is not finite
+        columns = (int) Math.min(Math.max(1, Math.ceil((maxX - minX) / cellSize)), 4096);
+        rows = (int) Math.min(Math.max(1, Math.ceil((maxY - minY) / cellSize)), 4096);
+        cellSize = Math.max((maxX - minX) / columns, (maxY - minY) / rows);
+
+        //count circles per cell, then fill the cells
+        int[] counts = new int[columns * rows + 1];
+        int bigCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (isBigCircle(centerX[i], centerY[i], radii[i])) bigCount++;
+            else forEachCoveredCell(centerX[i], centerY[i], radii[i], cell -> counts[cell + 1]++);
+        }
+        for (int cell = 0; cell < columns * rows; cell++) counts[cell + 1] += counts[cell];
+
+        cellStart = counts.clone();
+        cellCircles = new int[counts[columns * rows]];
+        bigCircles = new int[bigCount];
+        bigCount = 0;
+        for (int i = 0; i < count; i++) {
+            final int circle = i;
+            if (isBigCircle(centerX[i], centerY[i], radii[i])) bigCircles[bigCount++] = i;
+            else forEachCoveredCell(centerX[i], centerY[i], radii[i], cell -> cellCircles[counts[cell]++] = circle);
+        }
+    }
+
+    /**
+     * Returns the circles whose cells are crossed by the line y = slope * x + intercept. All circles that intersect the
+     * line are returned, but not all returned circles have to intersect it.
+     *
+     * @param slope     the slope of the line
+     * @param intercept the intercept of the line with the y-axis
+     * @return the indices of the candidate circles in ascending order
+     */
+    public int[] findCandidates(double slope, double intercept) {
+
+        if (columns == 0 || !Double.isFinite(slope) || !Double.isFinite(intercept)) {
+            return columns == 0 ? new int[0] : allCircles(); //lines that are not finite are checked with all circles
+        }
+
+        queryNumber++;
+        int candidateCount = 0;
+        for (int circle : bigCircles) {
+            candidateCount = addCandidate(circle, candidateCount);
+        }
+
+        //visit the cells column by column, in each column the line covers the rows between its heights at the borders
+        for (int column = 0; column < columns; column++) {
+
+            double leftX = minX + column * cellSize;
+            double rightX = leftX + cellSize;
+            double leftY = slope * leftX + intercept;
+            double rightY = slope * rightX + intercept;
+
+            int firstRow = Math.max(0, row(Math.min(leftY, rightY) - PADDING));
+            int lastRow = Math.min(rows - 1, row(Math.max(leftY, rightY) + PADDING));
+
+            for (int row = firstRow; row <= lastRow; row++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    candidateCount = addCandidate(cellCircles[i], candidateCount);
+                }
+            }
+        }
+
+        Arrays.sort(candidates, 0, candidateCount);
+        return Arrays.copyOf(candidates, candidateCount);
+    }
+
+
+    //Helping methods
+
+    /**
+     * Adds the given circle to the candidates, when it was not added for the current line before.
+     *
+     * @param circle         the index of the circle
+     * @param candidateCount the current number of candidates
+     * @return the new number of candidates
+     */
+    private int addCandidate(int circle, int candidateCount) {
+
+        if (lastQuery[circle] == queryNumber) return candidateCount; //already added
+        lastQuery[circle] = queryNumber;
+
+        if (candidateCount == candidates.length) candidates = Arrays.copyOf(candidates, candidates.length * 2);
+        candidates[candidateCount] = circle;
+        return candidateCount + 1;
+    }
+
+    /**
+     * Returns the indices of all circles of the grid.
+     *
+     * @return array with the indices of all circles in ascending order
+     */
+    private int[] allCircles() {
+
+        int[] all = new int[lastQuery.length];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return all;
+    }
+
+    /**
+     * Checks whether the bounding box of the given circle would cover too many cells.
+     *
+     * @param centerX the x-coordinate of the center
+     * @param centerY the y-coordinate of the center
+     * @param radius  the radius of the circle
+     * @return true when the circle should be checked with every line and else false
+     */
+    private boolean isBigCircle(double centerX, double centerY, double radius) {
+
+        long coveredColumns = (long) column(centerX + radius + PADDING) - column(centerX - radius - PADDING) + 1;
+        long coveredRows = (long) row(centerY + radius + PADDING) - row(centerY - radius - PADDING) + 1;
+        return !Double.isFinite(radius) || coveredColumns * coveredRows > MAX_CELLS_PER_CIRCLE;
+    }
+
+    /**
+     * Calls the given action with every cell the bounding box of the given circle covers.
+     *
+     * @param centerX the x-coordinate of the center
+     * @param centerY the y-coordinate of the center
+     * @param radius  the radius of the circle
+     * @param action  the action to call with the index of each cell
+     */
+    private void forEachCoveredCell(double centerX, double centerY, double radius, IntConsumer action) {
+
+        int firstColumn = Math.max(0, column(centerX - radius - PADDING));
+        int lastColumn = Math.min(columns - 1, column(centerX + radius + PADDING));
+        int firstRow = Math.max(0, row(centerY - radius - PADDING));
+        int lastRow = Math.min(rows - 1, row(centerY + radius + PADDING));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+
+    /**
+     * Returns the column of the grid that contains the given x-coordinate.
+     *
+     * @param x the x-coordinate
+     * @return the index of the column (may lie outside the grid)
+     */
+    private int column(double x) {
+        return (int) Math.floor((x - minX) / cellSize);
+    }
+
+    /**
+     * Returns the row of the grid that contains the given y-coordinate.
+     *
+     * @param y the y-coordinate
+     * @return the index of the row (may lie outside the grid)
+     */
+    private int row(double y) {
+        return (int) Math.floor((y - minY) / cellSize);
+    }
+}
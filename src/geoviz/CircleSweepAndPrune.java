@@ -0,0 +1,87 @@
+package geoviz;
+
+import java.util.Arrays;
+
+/**
+ * Finds the pairs of circles that may intersect with sort and sweep. The circles are sorted by the left end of their
+ * x-extent (center - radius) and only circles whose x-extents overlap are compared. Those pairs are then checked with the
+ * distance of their centers, so only circles that really meet are passed on to the exact calculation.
+ */
+public class CircleSweepAndPrune {
+
+
+    //Object variables
+    private long[] pairs = new long[16]; //found pairs as (i << 32 | j)
+    private int pairCount;
+    private int[] active = new int[16]; //circles whose x-extent reaches the current position
+
+
+    //Object methods
+
+    /**
+     * Finds all pairs of circles whose x-extents and y-extents overlap and whose centers are neither too far apart nor
+     * too close to each other to intersect (see Utilities.canIntersect).
+     *
+     * @param centerX the x-coordinates of the centers
+     * @param centerY the y-coordinates of the centers
+     * @param radii   the radii of the circles
+     * @param count   the number of circles to use from the arrays
+     * @return array that holds the found pairs one after another ([0] and [1] are the indices of the first pair, [2] and [3]
+     * of the second pair and so on). In each pair the first index is smaller and the pairs are sorted ascending.
+     */
+    public int[] findCandidatePairs(double[] centerX, double[] centerY, double[] radii, int count) {
+
+        pairCount = 0;
+
+        //sort the circles by the left end of their x-extent
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) sorted[i] = i;
+        Arrays.sort(sorted, (first, second) -> Double.compare(centerX[first] - radii[first], centerX[second] - radii[second]));
+
+        int activeCount = 0;
+        for (int current : sorted) {
+
+            double left = centerX[current] - radii[current];
+            int kept = 0;
+            for (int i = 0; i < activeCount; i++) { //remove circles that end left of the current one
+
+                int other = active[i];
+                if (centerX[other] + radii[other] < left - 0.000001) continue;
+                active[kept++] = other;
+
+                if (Math.abs(centerY[current] - centerY[other]) > radii[current] + radii[other] + 0.000001) continue; //y-extents do not overlap
+                if (Utilities.canIntersect(centerX[current], centerY[current], radii[current], centerX[other], centerY[other], radii[other])) {
+                    addPair(Math.min(current, other), Math.max(current, other));
+                }
+            }
+            activeCount = kept;
+
+            if (activeCount == active.length) active = Arrays.copyOf(active, active.length * 2);
+            active[activeCount++] = current;
+        }
+
+        //sort the pairs so that they have the same order as when checking all pairs
+        Arrays.sort(pairs, 0, pairCount);
+        int[] result = new int[pairCount * 2];
+        for (int i = 0; i < pairCount; i++) {
+            result[2 * i] = (int) (pairs[i] >>> 32);
+            result[2 * i + 1] = (int) pairs[i];
+        }
+        return result;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Stores the given pair of circles.
+     *
+     * @param first  the smaller index of the pair
+     * @param second the bigger index of the pair
+     */
+    private void addPair(int first, int second) {
+
+        if (pairCount == pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+        pairs[pairCount++] = ((long) first << 32) | second;
+    }
+}
@@ -0,0 +1,409 @@
+package geoviz;
+
+import datascructures.DoubleList;
+import metrics.IntersectionEvent;
+import metrics.Metrics;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Calculates the intersections of the lines and circles of a ShapeModel. The calculation only works on the primitive
+ * arrays of the model and does not create any JavaFX nodes, so it can run without a toolkit. The results are returned as
+ * x and y coordinates one after another. For each pair of shapes the same points are calculated as with the
+ * getPointOfIntersection functions of Utilities. Each pass is counted in the IntersectionMetrics of Metrics (passes for
+ * one added shape as incremental passes) and recorded as an IntersectionEvent for the Flight Recorder.
+ * <p>
+ * An instance calculates one pass at a time, because the passes share a buffer and the engines. The engines and the
+ * number of threads may be selected from another thread while a pass runs; each pass reads the selection once.
+ */
+public class IntersectionCalculator {
+
+
+    //Object variables
+    private final SweepLineIntersector sweepLine; //intersection engines
+    private final CircleSpatialHash circleHash = new CircleSpatialHash();
+    private final CircleSweepAndPrune circleSweep = new CircleSweepAndPrune();
+    private volatile ParallelIntersections parallelIntersections; //null when all pairs are checked on the calling thread
+    private final double[] buffer = new double[4]; //holds the intersections of the current pair
+
+    private volatile boolean sweepLineIsUsed = false; //selected on the JavaFX thread, read by the pass
+    private volatile boolean spatialHashIsUsed = false;
+    private volatile boolean sortAndSweepIsUsed = false;
+
+
+    //Constructor
+    public IntersectionCalculator(double minX, double minY, double maxX, double maxY) {
+        sweepLine = new SweepLineIntersector(minX, minY, maxX, maxY); //the sweep-line only finds intersections in this region
+    }
+
+
+    //Getter and setter
+
+    /**
+     * Returns whether the intersections of lines with lines are calculated with the sweep-line algorithm.
+     *
+     * @return true when the sweep-line algorithm is used and false when all pairs of lines are checked.
+     */
+    public boolean getSweepLineIsUsed() {
+        return sweepLineIsUsed;
+    }
+
+    /**
+     * Selects how the intersections of lines with lines are calculated. The sweep-line algorithm only finds the
+     * intersections inside the region of this instance, but those are the same as when all pairs of lines are checked.
+     *
+     * @param sweepLineIsUsed true to use the sweep-line algorithm and false to check all pairs of lines.
+     */
+    public void setSweepLineIsUsed(boolean sweepLineIsUsed) {
+        this.sweepLineIsUsed = sweepLineIsUsed;
+    }
+
+    /**
+     * Returns whether the circles that may intersect a line are looked up in a spatial hash.
+     *
+     * @return true when the spatial hash is used and false when every line is checked with all circles.
+     */
+    public boolean getSpatialHashIsUsed() {
+        return spatialHashIsUsed;
+    }
+
+    /**
+     * Selects how the intersections of lines with circles are calculated. With the spatial hash only the circles in the
+     * cells a line crosses are checked with the line. The intersections are the same in both cases.
+     *
+     * @param spatialHashIsUsed true to use the spatial hash and false to check every line with all circles.
+     */
+    public void setSpatialHashIsUsed(boolean spatialHashIsUsed) {
+        this.spatialHashIsUsed = spatialHashIsUsed;
+    }
+
+    /**
+     * Returns whether the pairs of circles that may intersect are found with sort and sweep.
+     *
+     * @return true when sort and sweep is used and false when all pairs of circles are checked.
+     */
+    public boolean getSortAndSweepIsUsed() {
+        return sortAndSweepIsUsed;
+    }
+
+    /**
+     * Selects how the intersections of circles with circles are calculated. With sort and sweep only circles whose
+     * x-extents overlap and whose centers are close enough are calculated exactly. The intersections are the same in both
+     * cases.
+     *
+     * @param sortAndSweepIsUsed true to use sort and sweep and false to check all pairs of circles.
+     */
+    public void setSortAndSweepIsUsed(boolean sortAndSweepIsUsed) {
+        this.sortAndSweepIsUsed = sortAndSweepIsUsed;
+    }
+
+    /**
+     * Returns the number of threads that are used to check the pairs of shapes that are not handled by one of the
+     * selected engines.
+     *
+     * @return the number of threads (1 when the pairs are checked on the calling thread).
+     */
+    public int getParallelism() {
+        return parallelIntersections == null ? 1 : parallelIntersections.getParallelism();
+    }
+
+    /**
+     * Sets the number of threads that are used to check the pairs of shapes that are not handled by one of the selected
+     * engines. The calculation waits for all threads. The intersections are the same and in the same order for every
+     * number of threads. It may be called while a pass runs: that pass keeps its threads and they are stopped when it has
+     * finished, the next pass uses the new number.
+     *
+     * @param parallelism the number of threads (1 to check all pairs on the calling thread).
+     */
+    public synchronized void setParallelism(int parallelism) {
+
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        if (parallelism == getParallelism()) return;
+
+        if (parallelIntersections != null) parallelIntersections.shutdown(); //stop the threads of the old pool
+        parallelIntersections = parallelism > 1 ? new ParallelIntersections(parallelism) : null;
+    }
+
+
+    //Object methods
+
+    /**
+     * Calculates the intersections of all lines and circles of the given model. When it runs on another thread, the
+     * calculation can be stopped by interrupting that thread. The tested and pruned pairs, the hits and the time of the
+     * pass are recorded in the metrics.
+     *
+     * @param model the model that holds the shapes
+     * @return list that holds the x and y coordinates of the intersections one after another
+     * @throws CancellationException when the calling thread was interrupted during the calculation
+     */
+    public DoubleList calculateAll(ShapeModel model) {
+
+        IntersectionEvent event = new IntersectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        DoubleList result = new DoubleList();
+        long tested = calculateAll(model, result);
+
+        long lineCount = model.getLineCount();
+        long circleCount = model.getCircleCount();
+        long pairs = lineCount * (lineCount - 1) / 2 + lineCount * circleCount + circleCount * (circleCount - 1) / 2;
+        Metrics.getInstance().getIntersections().recordPass(tested, pairs - tested, result.size() / 2, System.nanoTime() - start);
+        commit(event, "all", model, tested, result);
+        return result;
+    }
+
+    /**
+     * Calculates the intersections of the given line with all other lines and circles of the model. It is used when a
+     * single line is added, so only the new pairs have to be checked instead of all pairs. The pass is recorded in the
+     * metrics as an incremental pass.
+     *
+     * @param model     the model that holds the shapes
+     * @param lineIndex the index of the added line
+     * @return list that holds the x and y coordinates of the new intersections one after another
+     */
+    public DoubleList calculateWithLine(ShapeModel model, int lineIndex) {
+
+        IntersectionEvent event = new IntersectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        DoubleList result = new DoubleList();
+        boolean sweepLineIsUsed = this.sweepLineIsUsed; //the same engine for the whole pass
+
+        for (int line = 0; line < model.getLineCount(); line++) { //check new line with all other lines
+            if (line == lineIndex) continue;
+
+            int size = result.size();
+            addLineLine(model, line, lineIndex, buffer, result);
+            if (sweepLineIsUsed && result.size() > size && !sweepLine.isInsideRegion(result.get(size), result.get(size + 1))) {
+                result.removeLast(2); //same intersections as the sweep-line algorithm finds
+            }
+        }
+
+        for (int circle = 0; circle < model.getCircleCount(); circle++) { //check new line with all circles
+            addLineCircle(model, lineIndex, circle, buffer, result);
+        }
+        long tested = model.getLineCount() - 1 + model.getCircleCount(); //all pairs of the new line
+        Metrics.getInstance().getIntersections().recordIncrementalPass(tested, 0, result.size() / 2, System.nanoTime() - start);
+        commit(event, "line", model, tested, result);
+        return result;
+    }
+
+    /**
+     * Calculates the intersections of the given circle with all lines and all other circles of the model. It is used when
+     * a single circle is added, so only the new pairs have to be checked instead of all pairs. The pass is recorded in the
+     * metrics as an incremental pass.
+     *
+     * @param model       the model that holds the shapes
+     * @param circleIndex the index of the added circle
+     * @return list that holds the x and y coordinates of the new intersections one after another
+     */
+    public DoubleList calculateWithCircle(ShapeModel model, int circleIndex) {
+
+        IntersectionEvent event = new IntersectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        DoubleList result = new DoubleList();
+        long tested = model.getLineCount();
+        double[] x = model.getCircleX();
+        double[] y = model.getCircleY();
+        double[] r = model.getCircleRadius();
+
+        for (int line = 0; line < model.getLineCount(); line++) { //check all lines with new circle
+            addLineCircle(model, line, circleIndex, buffer, result);
+        }
+
+        for (int circle = 0; circle < model.getCircleCount(); circle++) { //check new circle with all other circles
+            if (circle == circleIndex || !Utilities.canIntersect(x[circleIndex], y[circleIndex], r[circleIndex], x[circle], y[circle], r[circle])) continue;
+            addCircleCircle(model, circleIndex, circle, buffer, result);
+            tested++;
+        }
+        long pruned = model.getLineCount() + model.getCircleCount() - 1 - tested; //circles that cannot meet the new one
+        Metrics.getInstance().getIntersections().recordIncrementalPass(tested, pruned, result.size() / 2, System.nanoTime() - start);
+        commit(event, "circle", model, tested, result);
+        return result;
+    }
+
+    /**
+     * Stops the threads that are used to calculate the intersections.
+     */
+    public void shutdown() {
+        setParallelism(1);
+    }
+
+
+    //Calculation of single pairs (with the allocation-free functions of Utilities on the values of the model)
+
+    /**
+     * Adds the intersection of the two given lines of the model to the given list (see
+     * Utilities.getPointOfIntersection(MyLine, MyLine)).
+     *
+     * @param model  the model that holds the lines
+     * @param first  the index of the first line
+     * @param second the index of the second line
+     * @param buffer array with a length of at least 4 that is used for the calculation
+     * @param result the list to add the coordinates to
+     */
+    static void addLineLine(ShapeModel model, int first, int second, double[] buffer, DoubleList result) {
+
+        int count = Utilities.lineLineIntersection(model.getLineSlope()[first], model.getLineIntercept()[first], model.getLineStartX()[first],
+                model.getLineStartY()[first], model.getLineEndX()[first], model.getLineSlope()[second], model.getLineIntercept()[second],
+                model.getLineStartX()[second], buffer);
+        addPoints(buffer, count, result);
+    }
+
+    /**
+     * Adds the intersections of the given line and circle of the model to the given list (see
+     * Utilities.getPointOfIntersection(MyLine, MyCircle)).
+     *
+     * @param model  the model that holds the shapes
+     * @param line   the index of the line
+     * @param circle the index of the circle
+     * @param buffer array with a length of at least 4 that is used for the calculation
+     * @param result the list to add the coordinates to
+     */
+    static void addLineCircle(ShapeModel model, int line, int circle, double[] buffer, DoubleList result) {
+
+        int count = Utilities.lineCircleIntersection(model.getLineSlope()[line], model.getLineIntercept()[line], model.getLineStartX()[line],
+                model.getLineEndX()[line], model.getCircleX()[circle], model.getCircleY()[circle], model.getCircleRadius()[circle], buffer);
+        addPoints(buffer, count, result);
+    }
+
+    /**
+     * Adds the intersections of the two given circles of the model to the given list (see
+     * Utilities.getPointOfIntersection(MyCircle, MyCircle)).
+     *
+     * @param model  the model that holds the circles
+     * @param first  the index of the first circle
+     * @param second the index of the second circle
+     * @param buffer array with a length of at least 4 that is used for the calculation
+     * @param result the list to add the coordinates to
+     */
+    static void addCircleCircle(ShapeModel model, int first, int second, double[] buffer, DoubleList result) {
+
+        int count = Utilities.getPointOfIntersection(model.getCircleX()[first], model.getCircleY()[first], model.getCircleRadius()[first],
+                model.getCircleX()[second], model.getCircleY()[second], model.getCircleRadius()[second], buffer);
+        addPoints(buffer, count, result);
+    }
+
+
+    //Helping methods
+
+    /**
+     * Adds the intersections of all lines and circles of the given model to the given list and returns the number of
+     * pairs whose intersections were calculated. The pairs that the selected engines do not check are checked all.
+     */
+    private long calculateAll(ShapeModel model, DoubleList result) {
+
+        int lineCount = model.getLineCount();
+        int circleCount = model.getCircleCount();
+        long tested = 0;
+        if (lineCount + circleCount < 2) return tested; //if there cannot be any intersections
+
+        boolean sweepLineIsUsed = this.sweepLineIsUsed; //the same engines for the whole pass
+        boolean spatialHashIsUsed = this.spatialHashIsUsed;
+        boolean sortAndSweepIsUsed = this.sortAndSweepIsUsed;
+
+        if (sweepLineIsUsed) { //lines with lines inside the region
+            int[] pairs = sweepLine.findIntersectingPairs(model.getLineSlope(), model.getLineIntercept(), lineCount);
+            for (int i = 0; i < pairs.length; i += 2) addLineLine(model, pairs[i], pairs[i + 1], buffer, result);
+            tested += pairs.length / 2;
+        }
+
+        if (spatialHashIsUsed) { //lines with nearby circles
+            circleHash.build(model.getCircleX(), model.getCircleY(), model.getCircleRadius(), circleCount);
+            for (int line = 0; line < lineCount; line++) {
+                checkCancelled();
+                int[] candidates = circleHash.findCandidates(model.getLineSlope()[line], model.getLineIntercept()[line]);
+                for (int circle : candidates) addLineCircle(model, line, circle, buffer, result);
+                tested += candidates.length;
+            }
+        }
+
+        if (sortAndSweepIsUsed && circleCount > 1) { //only circles that meet
+            int[] pairs = circleSweep.findCandidatePairs(model.getCircleX(), model.getCircleY(), model.getCircleRadius(), circleCount);
+            for (int i = 0; i < pairs.length; i += 2) addCircleCircle(model, pairs[i + 1], pairs[i], buffer, result);
+            tested += pairs.length / 2;
+        }
+
+        //the remaining pairs are checked all
+        if (!sweepLineIsUsed) tested += (long) lineCount * (lineCount - 1) / 2;
+        if (!spatialHashIsUsed) tested += (long) lineCount * circleCount;
+        if (!sortAndSweepIsUsed) tested += (long) circleCount * (circleCount - 1) / 2;
+
+        ParallelIntersections parallel = acquireParallelIntersections(); //the threads cannot be stopped during the pass
+        if (parallel != null) { //remaining pairs are checked on several threads
+            try {
+                result.addAll(parallel.calculate(model, !sweepLineIsUsed, !spatialHashIsUsed, !sortAndSweepIsUsed));
+            } finally {
+                parallel.release();
+            }
+            return tested;
+        }
+
+        //lines with lines and circles
+        for (int i = 0; i < lineCount; i++) {
+
+            checkCancelled();
+            for (int j = i + 1; j < lineCount && !sweepLineIsUsed; j++) { //check all lines
+                addLineLine(model, i, j, buffer, result);
+            }
+
+            for (int j = 0; j < circleCount && !spatialHashIsUsed; j++) { //check all circles with lines
+                addLineCircle(model, i, j, buffer, result);
+            }
+        }
+
+        if (circleCount < 2 || sortAndSweepIsUsed) return tested; //when there are at least two circles
+
+        //circles with circles
+        for (int i = 0; i < circleCount - 1; i++) {
+            checkCancelled();
+            for (int j = i + 1; j < circleCount; j++) { //check all circles with circles
+                addCircleCircle(model, j, i, buffer, result);
+            }
+        }
+        return tested;
+    }
+
+    /**
+     * Returns the current ParallelIntersections after acquiring it, or null when all pairs are checked on the calling
+     * thread. It is synchronized with setParallelism, so the returned instance is never shut down before it is released.
+     */
+    private synchronized ParallelIntersections acquireParallelIntersections() {
+
+        ParallelIntersections parallel = parallelIntersections;
+        if (parallel != null) parallel.acquire();
+        return parallel;
+    }
+
+    /**
+     * Ends the given Flight Recorder event of a pass and commits it with the values of the pass (only when the event is
+     * recorded).
+     */
+    private static void commit(IntersectionEvent event, String pass, ShapeModel model, long tested, DoubleList result) {
+
+        event.end();
+        if (!event.shouldCommit()) return;
+
+        event.pass = pass;
+        event.lines = model.getLineCount();
+        event.circles = model.getCircleCount();
+        event.pairsTested = tested;
+        event.hits = result.size() / 2;
+        event.commit();
+    }
+
+    /**
+     * Stops the calculation when the current thread was interrupted, because its result is not needed anymore.
+     */
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Calculation of the intersections was cancelled");
+    }
+
+    /**
+     * Adds the first count intersections of the given buffer to the given list.
+     */
+    private static void addPoints(double[] buffer, int count, DoubleList result) {
+        for (int i = 0; i < 2 * count; i++) result.add(buffer[i]);
+    }
+}
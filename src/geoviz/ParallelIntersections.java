@@ -0,0 +1,217 @@
+package geoviz;
+
+import datascructures.DoubleList;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Calculates the intersections of lines and circles on several threads. The pairs (i, j) are split into rows: row i
+ * holds the pairs of line i with all following lines and all circles, the rows after the lines hold the pairs of each
+ * circle with all following circles. The rows are split into fork/join tasks that collect their intersections in their
+ * own buffer. The buffers are joined in the order of the rows, so the result is the same as when all pairs are checked
+ * one after another. When the calling thread is interrupted, the tasks stop at the start of their next row, so a stale
+ * calculation does not keep the threads of the pool busy.
+ */
+public class ParallelIntersections {
+
+
+    //Static variables
+    private static final int PAIRS_PER_TASK = 4096; //tasks with less pairs are not split any further
+
+
+    //Object variables
+    private final ForkJoinPool pool;
+    private int users = 0; //calculations that hold the instance, the pool is only stopped when there are none
+    private boolean isShutDown = false;
+
+
+    //Constructor
+    public ParallelIntersections(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+
+    //Getter
+
+    /**
+     * Returns the number of threads used to calculate the intersections.
+     *
+     * @return the parallelism level of the used pool
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+
+    //Object methods
+
+    /**
+     * Calculates the intersections of the shapes of the given model on the threads of the pool and waits until all are
+     * found. The model must not be changed during the calculation. When the calling thread is interrupted while it waits,
+     * the tasks are stopped and the thread stays interrupted.
+     *
+     * @param model             the model that holds the lines and circles to check
+     * @param withLineLines     whether the intersections of lines with lines are calculated
+     * @param withLineCircles   whether the intersections of lines with circles are calculated
+     * @param withCircleCircles whether the intersections of circles with circles are calculated
+     * @return list that holds the x and y coordinates of the intersections one after another
+     * @throws CancellationException when the calling thread was interrupted during the calculation
+     */
+    public DoubleList calculate(ShapeModel model, boolean withLineLines, boolean withLineCircles, boolean withCircleCircles) {
+
+        int rowCount = model.getLineCount() + Math.max(model.getCircleCount() - 1, 0);
+        AtomicBoolean isCancelled = new AtomicBoolean(false); //shared by all tasks of this calculation
+        ForkJoinTask<DoubleList> root = pool.submit(new RowTask(model, withLineLines, withLineCircles, withCircleCircles, isCancelled, 0, rowCount));
+
+        try {
+            return root.get();
+        } catch (InterruptedException interruptedException) {
+            isCancelled.set(true); //the forked tasks stop at their next row
+            root.cancel(true);
+            Thread.currentThread().interrupt(); //like the calculation on the calling thread
+            throw new CancellationException("Calculation of the intersections was cancelled");
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof RuntimeException) throw (RuntimeException) executionException.getCause();
+            throw new IllegalStateException(executionException.getCause());
+        }
+    }
+
+    /**
+     * Marks the instance as used by a calculation, so the pool is not stopped before release is called.
+     *
+     * @throws IllegalStateException when the instance was shut down before
+     */
+    public synchronized void acquire() {
+
+        if (isShutDown) throw new IllegalStateException("The threads of the calculation were stopped");
+        users++;
+    }
+
+    /**
+     * Marks the end of a calculation that called acquire. The pool is stopped when it was shut down in the meantime.
+     */
+    public synchronized void release() {
+        if (--users == 0 && isShutDown) pool.shutdown();
+    }
+
+    /**
+     * Stops the threads of the pool as soon as no calculation uses them anymore. The instance cannot be acquired
+     * afterwards.
+     */
+    public synchronized void shutdown() {
+
+        isShutDown = true;
+        if (users == 0) pool.shutdown();
+    }
+
+
+    //Inner classes
+
+    /**
+     * Task that calculates the intersections of the rows from (inclusive) to (exclusive).
+     */
+    private static class RowTask extends RecursiveTask<DoubleList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ShapeModel model;
+        private final int lineCount;
+        private final int circleCount;
+        private final boolean withLineLines;
+        private final boolean withLineCircles;
+        private final boolean withCircleCircles;
+        private final AtomicBoolean isCancelled;
+        private final int from;
+        private final int to;
+
+        private RowTask(ShapeModel model, boolean withLineLines, boolean withLineCircles, boolean withCircleCircles, AtomicBoolean isCancelled,
+                        int from, int to) {
+            this.model = model;
+            this.lineCount = model.getLineCount();
+            this.circleCount = model.getCircleCount();
+            this.withLineLines = withLineLines;
+            this.withLineCircles = withLineCircles;
+            this.withCircleCircles = withCircleCircles;
+            this.isCancelled = isCancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DoubleList compute() {
+
+            if (to - from > 1 && countPairs() > PAIRS_PER_TASK) { //split rows in two halves
+
+                int middle = (from + to) >>> 1;
+                RowTask lower = new RowTask(model, withLineLines, withLineCircles, withCircleCircles, isCancelled, from, middle);
+                RowTask upper = new RowTask(model, withLineLines, withLineCircles, withCircleCircles, isCancelled, middle, to);
+
+                upper.fork();
+                DoubleList result = lower.compute();
+                result.addAll(upper.join()); //keep the order of the rows
+                return result;
+            }
+
+            DoubleList buffer = new DoubleList(); //buffer of this task only
+            double[] pairBuffer = new double[4]; //holds the intersections of the current pair
+            for (int row = from; row < to; row++) {
+                checkCancelled();
+                if (row < lineCount) calculateLineRow(row, pairBuffer, buffer);
+                else calculateCircleRow(row - lineCount, pairBuffer, buffer);
+            }
+            return buffer;
+        }
+
+        /**
+         * Calculates the intersections of line i with all following lines and all circles.
+         */
+        private void calculateLineRow(int i, double[] pairBuffer, DoubleList buffer) {
+
+            for (int j = i + 1; j < lineCount && withLineLines; j++) {
+                IntersectionCalculator.addLineLine(model, i, j, pairBuffer, buffer);
+            }
+            for (int j = 0; j < circleCount && withLineCircles; j++) {
+                IntersectionCalculator.addLineCircle(model, i, j, pairBuffer, buffer);
+            }
+        }
+
+        /**
+         * Calculates the intersections of circle i with all following circles.
+         */
+        private void calculateCircleRow(int i, double[] pairBuffer, DoubleList buffer) {
+
+            for (int j = i + 1; j < circleCount && withCircleCircles; j++) {
+                IntersectionCalculator.addCircleCircle(model, j, i, pairBuffer, buffer);
+            }
+        }
+
+        /**
+         * Stops the task when the calculation was cancelled. The calling thread may run tasks itself while it waits, so an
+         * interrupt of the current thread also cancels the calculation.
+         */
+        private void checkCancelled() {
+
+            if (Thread.currentThread().isInterrupted()) isCancelled.set(true);
+            if (isCancelled.get()) throw new CancellationException("Calculation of the intersections was cancelled");
+        }
+
+        /**
+         * Returns the number of pairs in the rows of this task.
+         */
+        private long countPairs() {
+
+            long pairs = 0;
+            for (int row = from; row < to; row++) {
+                checkCancelled();
+                if (row < lineCount) pairs += lineCount - row - 1 + circleCount;
+                else pairs += circleCount - (row - lineCount) - 1;
+            }
+            return pairs;
+        }
+    }
+}
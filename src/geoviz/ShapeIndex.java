@@ -0,0 +1,231 @@
+package geoviz;
+
+import datascructures.DensityQuadTree;
+import datascructures.DoubleList;
+import datascructures.IntList;
+import datascructures.QuadTree;
+
+/**
+ * Finds the shapes of a ShapeModel that lie in a given area, so only the visible shapes have to be displayed. Points
+ * are stored in a DensityQuadTree, so dense areas can also be returned as clusters, and circles in a QuadTree with
+ * their bounding boxes. The lines are drawn from x = 0 to LINE_END_X, so their bounding boxes would cover nearly
+ * everything; they are tested directly against the area instead. The index is updated lazily: new shapes of the model
+ * are added on the next query and the index is built again after shapes were removed.
+ */
+public class ShapeIndex {
+
+
+    //Static variables
+    public static final double LINE_END_X = 10000000; //lines are drawn from x = 0 to this x-coordinate
+
+
+    //Object variables
+    private final ShapeModel model;
+    private final DensityQuadTree points;
+    private final QuadTree circles;
+    private int generation; //generation of the model the index was built for
+
+
+    //Constructor
+    public ShapeIndex(ShapeModel model, double minX, double minY, double size) {
+
+        this.model = model;
+        points = new DensityQuadTree(minX, minY, size);
+        circles = new QuadTree(minX, minY, size);
+        generation = model.getGeneration();
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds the indices of all points whose center lies in the given area extended by the given margin to the list. The
+     * indices are added in ascending order, so the points keep the order in which they were added.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param margin the distance the area is extended in each direction (the radius of the drawn points)
+     * @param result the list to add the indices to
+     */
+    public void findPoints(double minX, double minY, double maxX, double maxY, double margin, IntList result) {
+
+        update();
+        int first = result.size();
+        points.query(minX - margin, minY - margin, maxX + margin, maxY + margin, result);
+        result.sort(first);
+    }
+
+    /**
+     * Adds the points whose center lies in the given area extended by the given margin in the resolution of the given
+     * cell size. Areas not bigger than a cell with more than the given number of points are added as one cluster (x and y
+     * of the centroid and the number of points), the other points are added as indices in ascending order.
+     *
+     * @param minX       the smallest x-coordinate of the area
+     * @param minY       the smallest y-coordinate of the area
+     * @param maxX       the biggest x-coordinate of the area
+     * @param maxY       the biggest y-coordinate of the area
+     * @param margin     the distance the area is extended in each direction (the radius of the drawn points)
+     * @param cellSize   the size of the cells in the coordinate system
+     * @param pointLimit cells with up to this number of points are not clustered
+     * @param result     the list to add the indices of the single points to
+     * @param clusters   the list to add x, y and the number of points of each cluster to
+     */
+    public void findPointClusters(double minX, double minY, double maxX, double maxY, double margin, double cellSize, int pointLimit,
+                                  IntList result, DoubleList clusters) {
+
+        update();
+        int first = result.size();
+        points.aggregate(minX - margin, minY - margin, maxX + margin, maxY + margin, cellSize, pointLimit, result, clusters);
+        result.sort(first);
+    }
+
+    /**
+     * Adds the indices of all circles whose bounding box reaches into the given area extended by the given margin to the
+     * list. The indices are added in ascending order.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param margin the distance the area is extended in each direction (the width of the border)
+     * @param result the list to add the indices to
+     */
+    public void findCircles(double minX, double minY, double maxX, double maxY, double margin, IntList result) {
+
+        update();
+        int first = result.size();
+        circles.query(minX - margin, minY - margin, maxX + margin, maxY + margin, result);
+        result.sort(first);
+    }
+
+    /**
+     * Adds the indices of all lines that cross the given area extended by the given margin to the list. Each line is
+     * checked, because the lines are not stored in a tree. The indices are added in ascending order.
+     *
+     * @param minX   the smallest x-coordinate of the area
+     * @param minY   the smallest y-coordinate of the area
+     * @param maxX   the biggest x-coordinate of the area
+     * @param maxY   the biggest y-coordinate of the area
+     * @param margin the distance the area is extended in each direction (the width of the line)
+     * @param result the list to add the indices to
+     */
+    public void findLines(double minX, double minY, double maxX, double maxY, double margin, IntList result) {
+
+        double left = Math.max(minX - margin, 0); //the part of the lines that is drawn and lies in the area
+        double right = Math.min(maxX + margin, LINE_END_X);
+        if (left > right) return;
+
+        double[] slope = model.getLineSlope();
+        double[] intercept = model.getLineIntercept();
+        for (int i = 0; i < model.getLineCount(); i++) {
+
+            double leftY = slope[i] * left + intercept[i];
+            double rightY = slope[i] * right + intercept[i];
+            if (Math.min(leftY, rightY) <= maxY + margin && Math.max(leftY, rightY) >= minY - margin) result.add(i);
+        }
+    }
+
+    /**
+     * Returns the index of the point whose center is nearest to the given position, as long as it is not farther away than
+     * the given radius. When several points have the same distance, the one that was added last (which is drawn on top)
+     * is returned.
+     *
+     * @param x      the x-coordinate of the position
+     * @param y      the y-coordinate of the position
+     * @param radius the biggest distance between the point and the position
+     * @return the index of the hit point or -1 when no point is hit
+     */
+    public int pickPoint(double x, double y, double radius) {
+
+        update();
+        return points.nearest(x, y, radius);
+    }
+
+    /**
+     * Returns the index of the line that passes the given position within the given distance. When several lines are hit,
+     * the one that was added last (which is drawn on top) is returned.
+     *
+     * @param x         the x-coordinate of the position
+     * @param y         the y-coordinate of the position
+     * @param tolerance the biggest distance between the line and the position
+     * @return the index of the hit line or -1 when no line is hit
+     */
+    public int pickLine(double x, double y, double tolerance) {
+
+        if (x < -tolerance || x > LINE_END_X + tolerance) return -1; //the lines are only drawn in this range
+
+        double[] slope = model.getLineSlope();
+        double[] intercept = model.getLineIntercept();
+        for (int i = model.getLineCount() - 1; i >= 0; i--) {
+            double distance = Math.abs(slope[i] * x - y + intercept[i]) / Math.sqrt(slope[i] * slope[i] + 1);
+            if (distance <= tolerance) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the circle whose border passes the given position within the given distance or that is filled
+     * and contains the position. A hit border is preferred to a filled area and smaller circles are preferred to bigger
+     * ones (like the order in which the circles are drawn).
+     *
+     * @param x         the x-coordinate of the position
+     * @param y         the y-coordinate of the position
+     * @param tolerance the biggest distance between the border and the position
+     * @return the index of the hit circle or -1 when no circle is hit
+     */
+    public int pickCircle(double x, double y, double tolerance) {
+
+        IntList candidates = new IntList();
+        findCircles(x, y, x, y, tolerance, candidates);
+
+        double[] circleX = model.getCircleX();
+        double[] circleY = model.getCircleY();
+        double[] radius = model.getCircleRadius();
+        boolean[] isFilled = model.getCircleFilled();
+        int hit = -1;
+        boolean hitIsBorder = false;
+
+        for (int c = 0; c < candidates.size(); c++) {
+
+            int i = candidates.get(c);
+            double distance = Utilities.getDistance(x, y, circleX[i], circleY[i]);
+            boolean isBorder = Math.abs(distance - radius[i]) <= tolerance;
+            if (!isBorder && !(isFilled[i] && distance <= radius[i])) continue;
+
+            if (hit < 0 || (isBorder && !hitIsBorder) || (isBorder == hitIsBorder && radius[i] <= radius[hit])) {
+                hit = i;
+                hitIsBorder = isBorder;
+            }
+        }
+        return hit;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Adds the shapes that were added to the model since the last update. When shapes were removed from the model, the
+     * trees are built again.
+     */
+    private void update() {
+
+        if (generation != model.getGeneration()) {
+            points.clear();
+            circles.clear();
+            generation = model.getGeneration();
+        }
+
+        double[] pointX = model.getPointX();
+        double[] pointY = model.getPointY();
+        for (int i = points.size(); i < model.getPointCount(); i++) points.insert(i, pointX[i], pointY[i]);
+
+        double[] circleX = model.getCircleX();
+        double[] circleY = model.getCircleY();
+        double[] radius = model.getCircleRadius();
+        for (int i = circles.size(); i < model.getCircleCount(); i++) {
+            circles.insert(i, circleX[i] - radius[i], circleY[i] - radius[i], circleX[i] + radius[i], circleY[i] + radius[i]);
+        }
+    }
+}
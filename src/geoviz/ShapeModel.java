@@ -0,0 +1,401 @@
+package geoviz;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Holds the geometry of all points, lines and circles in primitive arrays (one array per value, the shape with index i
+ * is stored at position i of each array). It does not use JavaFX, so calculations on the shapes do not need any nodes
+ * and can run without a toolkit. The JavaFX nodes only display the shapes of this model. Colors are stored as ARGB
+ * integers.
+ */
+public class ShapeModel {
+
+
+    //Object variables
+    private double[] pointX = new double[16]; //points
+    private double[] pointY = new double[16];
+    private int[] pointColor = new int[16];
+    private int pointCount = 0;
+
+    private double[] lineStartX = new double[16]; //lines
+    private double[] lineStartY = new double[16];
+    private double[] lineEndX = new double[16];
+    private double[] lineEndY = new double[16];
+    private double[] lineSlope = new double[16];
+    private double[] lineIntercept = new double[16];
+    private int[] lineColor = new int[16];
+    private int lineCount = 0;
+
+    private double[] circleX = new double[16]; //circles
+    private double[] circleY = new double[16];
+    private double[] circleRadius = new double[16];
+    private boolean[] circleFilled = new boolean[16];
+    private int[] circleColor = new int[16];
+    private int circleCount = 0;
+
+    private int generation = 0; //changes whenever shapes are removed
+
+
+    //Object methods
+
+    /**
+     * Adds a point at the given position.
+     *
+     * @param x     the x-coordinate of the point
+     * @param y     the y-coordinate of the point
+     * @param color the color of the point as ARGB integer
+     * @return the index of the new point
+     */
+    public int addPoint(double x, double y, int color) {
+
+        ensurePointCapacity(pointCount + 1);
+        pointX[pointCount] = x;
+        pointY[pointCount] = y;
+        pointColor[pointCount] = color;
+        return pointCount++;
+    }
+
+    /**
+     * Adds a line through the given start- and end-point. The slope and the intercept are calculated like in MyLine.
+     *
+     * @param startX the x-coordinate of the start-point
+     * @param startY the y-coordinate of the start-point
+     * @param endX   the x-coordinate of the end-point
+     * @param endY   the y-coordinate of the end-point
+     * @param color  the color of the line as ARGB integer
+     * @return the index of the new line
+     */
+    public int addLine(double startX, double startY, double endX, double endY, int color) {
+
+        ensureLineCapacity(lineCount + 1);
+        lineStartX[lineCount] = startX;
+        lineStartY[lineCount] = startY;
+        lineEndX[lineCount] = endX;
+        lineEndY[lineCount] = endY;
+        lineSlope[lineCount] = Utilities.getSlope(startX, startY, endX, endY);
+        lineIntercept[lineCount] = Utilities.getIntercept(startX, startY, endX, endY);
+        lineColor[lineCount] = color;
+        return lineCount++;
+    }
+
+    /**
+     * Adds a circle with the given center and radius.
+     *
+     * @param centerX  the x-coordinate of the center
+     * @param centerY  the y-coordinate of the center
+     * @param radius   the radius of the circle
+     * @param isFilled whether the circle is filled or just the border
+     * @param color    the color of the circle as ARGB integer
+     * @return the index of the new circle
+     */
+    public int addCircle(double centerX, double centerY, double radius, boolean isFilled, int color) {
+
+        ensureCircleCapacity(circleCount + 1);
+        circleX[circleCount] = centerX;
+        circleY[circleCount] = centerY;
+        circleRadius[circleCount] = radius;
+        circleFilled[circleCount] = isFilled;
+        circleColor[circleCount] = color;
+        return circleCount++;
+    }
+
+    /**
+     * Adds the given number of points whose values are read from the given buffers (one buffer per value, like the arrays
+     * of the model). The values are copied in bulk from the current positions of the buffers.
+     *
+     * @param x     the x-coordinates of the points
+     * @param y     the y-coordinates of the points
+     * @param color the colors of the points as ARGB integers
+     * @param count the number of points to add
+     */
+    public void addPoints(DoubleBuffer x, DoubleBuffer y, IntBuffer color, int count) {
+
+        ensurePointCapacity(pointCount + count);
+        x.get(pointX, pointCount, count);
+        y.get(pointY, pointCount, count);
+        color.get(pointColor, pointCount, count);
+        pointCount += count;
+    }
+
+    /**
+     * Adds the given number of lines whose values are read from the given buffers (one buffer per value, like the arrays
+     * of the model). The values are copied in bulk from the current positions of the buffers, the slopes and intercepts
+     * are calculated like in addLine.
+     *
+     * @param startX the x-coordinates of the start-points
+     * @param startY the y-coordinates of the start-points
+     * @param endX   the x-coordinates of the end-points
+     * @param endY   the y-coordinates of the end-points
+     * @param color  the colors of the lines as ARGB integers
+     * @param count  the number of lines to add
+     */
+    public void addLines(DoubleBuffer startX, DoubleBuffer startY, DoubleBuffer endX, DoubleBuffer endY, IntBuffer color, int count) {
+
+        ensureLineCapacity(lineCount + count);
+        startX.get(lineStartX, lineCount, count);
+        startY.get(lineStartY, lineCount, count);
+        endX.get(lineEndX, lineCount, count);
+        endY.get(lineEndY, lineCount, count);
+        color.get(lineColor, lineCount, count);
+
+        for (int i = lineCount; i < lineCount + count; i++) {
+            lineSlope[i] = Utilities.getSlope(lineStartX[i], lineStartY[i], lineEndX[i], lineEndY[i]);
+            lineIntercept[i] = Utilities.getIntercept(lineStartX[i], lineStartY[i], lineEndX[i], lineEndY[i]);
+        }
+        lineCount += count;
+    }
+
+    /**
+     * Adds the given number of circles whose values are read from the given buffers (one buffer per value, like the
+     * arrays of the model). The values are copied in bulk from the current positions of the buffers. A circle is filled
+     * when its byte in filled is not 0.
+     *
+     * @param centerX the x-coordinates of the centers
+     * @param centerY the y-coordinates of the centers
+     * @param radius  the radii of the circles
+     * @param filled  whether the circles are filled (one byte per circle)
+     * @param color   the colors of the circles as ARGB integers
+     * @param count   the number of circles to add
+     */
+    public void addCircles(DoubleBuffer centerX, DoubleBuffer centerY, DoubleBuffer radius, ByteBuffer filled, IntBuffer color, int count) {
+
+        ensureCircleCapacity(circleCount + count);
+        centerX.get(circleX, circleCount, count);
+        centerY.get(circleY, circleCount, count);
+        radius.get(circleRadius, circleCount, count);
+        color.get(circleColor, circleCount, count);
+
+        for (int i = circleCount; i < circleCount + count; i++) circleFilled[i] = filled.get() != 0;
+        circleCount += count;
+    }
+
+    /**
+     * Adds all points, lines and circles of the given model after the shapes of this model. The values are copied in
+     * bulk, so many shapes can be collected in another model and added at once.
+     *
+     * @param other the model whose shapes are added
+     */
+    public void addAll(ShapeModel other) {
+
+        int points = other.pointCount; //read before in case other is this model
+        int lines = other.lineCount;
+        int circles = other.circleCount;
+        ensurePointCapacity(pointCount + points);
+        ensureLineCapacity(lineCount + lines);
+        ensureCircleCapacity(circleCount + circles);
+
+        System.arraycopy(other.pointX, 0, pointX, pointCount, points);
+        System.arraycopy(other.pointY, 0, pointY, pointCount, points);
+        System.arraycopy(other.pointColor, 0, pointColor, pointCount, points);
+        pointCount += points;
+
+        System.arraycopy(other.lineStartX, 0, lineStartX, lineCount, lines);
+        System.arraycopy(other.lineStartY, 0, lineStartY, lineCount, lines);
+        System.arraycopy(other.lineEndX, 0, lineEndX, lineCount, lines);
+        System.arraycopy(other.lineEndY, 0, lineEndY, lineCount, lines);
+        System.arraycopy(other.lineSlope, 0, lineSlope, lineCount, lines);
+        System.arraycopy(other.lineIntercept, 0, lineIntercept, lineCount, lines);
+        System.arraycopy(other.lineColor, 0, lineColor, lineCount, lines);
+        lineCount += lines;
+
+        System.arraycopy(other.circleX, 0, circleX, circleCount, circles);
+        System.arraycopy(other.circleY, 0, circleY, circleCount, circles);
+        System.arraycopy(other.circleRadius, 0, circleRadius, circleCount, circles);
+        System.arraycopy(other.circleFilled, 0, circleFilled, circleCount, circles);
+        System.arraycopy(other.circleColor, 0, circleColor, circleCount, circles);
+        circleCount += circles;
+    }
+
+    /**
+     * Returns a new model that holds copies of the lines and circles of this model. The points are not copied, because
+     * the intersections do not need them. The copy does not change when this model changes, so it can be used for a
+     * calculation on another thread.
+     *
+     * @return the new model with the lines and circles of this model
+     */
+    public ShapeModel copyLinesAndCircles() {
+
+        ShapeModel copy = new ShapeModel();
+        copy.lineStartX = Arrays.copyOf(lineStartX, lineCount);
+        copy.lineStartY = Arrays.copyOf(lineStartY, lineCount);
+        copy.lineEndX = Arrays.copyOf(lineEndX, lineCount);
+        copy.lineEndY = Arrays.copyOf(lineEndY, lineCount);
+        copy.lineSlope = Arrays.copyOf(lineSlope, lineCount);
+        copy.lineIntercept = Arrays.copyOf(lineIntercept, lineCount);
+        copy.lineColor = Arrays.copyOf(lineColor, lineCount);
+        copy.lineCount = lineCount;
+
+        copy.circleX = Arrays.copyOf(circleX, circleCount);
+        copy.circleY = Arrays.copyOf(circleY, circleCount);
+        copy.circleRadius = Arrays.copyOf(circleRadius, circleCount);
+        copy.circleFilled = Arrays.copyOf(circleFilled, circleCount);
+        copy.circleColor = Arrays.copyOf(circleColor, circleCount);
+        copy.circleCount = circleCount;
+        return copy;
+    }
+
+    /**
+     * Removes all points, lines and circles. The arrays are kept, so the model can be filled again without allocations.
+     */
+    public void clear() {
+        pointCount = 0;
+        lineCount = 0;
+        circleCount = 0;
+        generation++;
+    }
+
+
+    //Getter
+
+    /**
+     * Returns the number of points in the model.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Returns the number of lines in the model.
+     *
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the number of circles in the model.
+     *
+     * @return the number of circles
+     */
+    public int getCircleCount() {
+        return circleCount;
+    }
+
+    /**
+     * Returns a number that changes whenever shapes are removed from the model. Shapes are only appended otherwise, so
+     * structures that are built from the model (like a ShapeIndex) only have to add the new shapes as long as the number
+     * does not change.
+     *
+     * @return the current generation of the model
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    //The following getters return the arrays of the model itself (not a copy) to read them in loops without calls.
+    //Only the first getPointCount(), getLineCount() or getCircleCount() entries are valid.
+
+    public double[] getPointX() {
+        return pointX;
+    }
+
+    public double[] getPointY() {
+        return pointY;
+    }
+
+    public int[] getPointColor() {
+        return pointColor;
+    }
+
+    public double[] getLineStartX() {
+        return lineStartX;
+    }
+
+    public double[] getLineStartY() {
+        return lineStartY;
+    }
+
+    public double[] getLineEndX() {
+        return lineEndX;
+    }
+
+    public double[] getLineEndY() {
+        return lineEndY;
+    }
+
+    public double[] getLineSlope() {
+        return lineSlope;
+    }
+
+    public double[] getLineIntercept() {
+        return lineIntercept;
+    }
+
+    public int[] getLineColor() {
+        return lineColor;
+    }
+
+    public double[] getCircleX() {
+        return circleX;
+    }
+
+    public double[] getCircleY() {
+        return circleY;
+    }
+
+    public double[] getCircleRadius() {
+        return circleRadius;
+    }
+
+    public boolean[] getCircleFilled() {
+        return circleFilled;
+    }
+
+    public int[] getCircleColor() {
+        return circleColor;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Grows the arrays of the points, so that they can hold at least the given number of points.
+     */
+    private void ensurePointCapacity(int capacity) {
+
+        if (capacity <= pointX.length) return;
+        capacity = Math.max(capacity, pointX.length * 2);
+
+        pointX = Arrays.copyOf(pointX, capacity);
+        pointY = Arrays.copyOf(pointY, capacity);
+        pointColor = Arrays.copyOf(pointColor, capacity);
+    }
+
+    /**
+     * Grows the arrays of the lines, so that they can hold at least the given number of lines.
+     */
+    private void ensureLineCapacity(int capacity) {
+
+        if (capacity <= lineStartX.length) return;
+        capacity = Math.max(capacity, lineStartX.length * 2);
+
+        lineStartX = Arrays.copyOf(lineStartX, capacity);
+        lineStartY = Arrays.copyOf(lineStartY, capacity);
+        lineEndX = Arrays.copyOf(lineEndX, capacity);
+        lineEndY = Arrays.copyOf(lineEndY, capacity);
+        lineSlope = Arrays.copyOf(lineSlope, capacity);
+        lineIntercept = Arrays.copyOf(lineIntercept, capacity);
+        lineColor = Arrays.copyOf(lineColor, capacity);
+    }
+
+    /**
+     * Grows the arrays of the circles, so that they can hold at least the given number of circles.
+     */
+    private void ensureCircleCapacity(int capacity) {
+
+        if (capacity <= circleX.length) return;
+        capacity = Math.max(capacity, circleX.length * 2);
+
+        circleX = Arrays.copyOf(circleX, capacity);
+        circleY = Arrays.copyOf(circleY, capacity);
+        circleRadius = Arrays.copyOf(circleRadius, capacity);
+        circleFilled = Arrays.copyOf(circleFilled, capacity);
+        circleColor = Arrays.copyOf(circleColor, capacity);
+    }
+}
@@ -0,0 +1,382 @@
+package geoviz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Finds all pairs of lines that intersect inside a bounded region with the sweep-line algorithm of Bentley and Ottmann.
+ * The lines are given by their slopes and intercepts and are cut to the region first. A vertical sweep-line then moves
+ * from left to right and only neighbouring segments are checked, so the pairs are found in O((n + k) log n) time where
+ * k is the number of intersections inside the region.
+ */
+public class SweepLineIntersector {
+
+
+    //Static variables
+    private static final double BORDER = 0.000001; //points this far outside the region still belong to it
+
+
+    //Object variables
+    private final double minX; //bounded region
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    private final TreeMap<EventPoint, EventPoint> events = new TreeMap<>(SweepLineIntersector::compareEventPoints); //sweep structures
+    private final TreeSet<Segment> status = new TreeSet<>(this::compareSegments);
+    private final Segment probe = new Segment(-1, 0, 0, 0, 0); //horizontal search key below all segments at its height
+    private double sweepX;
+    private EventPoint currentEvent; //segments of the current event are ordered by their slopes only
+
+    private long[] pairs = new long[16]; //found pairs as (i << 32 | j)
+    private int pairCount;
+
+
+    //Constructor
+    public SweepLineIntersector(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+
+    //Object methods
+
+    /**
+     * Finds all pairs of lines whose intersection lies inside the region of this instance. Parallel and identical lines
+     * (compared like in Utilities.isParallel) are never reported because their intersection cannot lie inside the region.
+     * Lines with a slope or intercept that is not finite are ignored.
+     *
+     * @param slopes     the slopes of the lines
+     * @param intercepts the intercepts of the lines with the y-axis
+     * @param count      the number of lines to use from the arrays
+     * @return array that holds the found pairs one after another ([0] and [1] are the indices of the first pair, [2] and [3]
+     * of the second pair and so on). In each pair the first index is smaller and the pairs are sorted ascending.
+     */
+    public int[] findIntersectingPairs(double[] slopes, double[] intercepts, int count) {
+
+        events.clear();
+        status.clear();
+        pairCount = 0;
+
+        for (int i = 0; i < count; i++) { //cut lines to the region and add their endpoints as events
+            Segment segment = clipToRegion(i, slopes[i], intercepts[i]);
+            if (segment == null) continue;
+
+            getOrAddEvent(segment.startX, segment.getYatX(segment.startX)).add(segment);
+            segment.endEvent = getOrAddEvent(segment.endX, segment.getYatX(segment.endX));
+            segment.endEvent.add(segment);
+        }
+
+        while (!events.isEmpty()) { //move the sweep-line from event to event
+            handleEventPoint(events.pollFirstEntry().getKey());
+        }
+        return sortedUniquePairs();
+    }
+
+
+    //Helping methods
+
+    /**
+     * Handles all segments that start, end or cross at the given event point. The segments passing through the point lie
+     * next to each other in the status. They are taken out and reinserted in their order right of the point, which
+     * swaps all crossing segments at once. Afterwards the new neighbours in the status are checked for intersections.
+     *
+     * @param event the current event point of the sweep-line
+     */
+    private void handleEventPoint(EventPoint event) {
+
+        sweepX = event.x;
+        currentEvent = event;
+
+        ArrayList<Segment> involved = event.segments;
+        for (Segment segment : involved) segment.movingAt = event;
+
+        //take out all segments of the status that pass through the point (iterator follows the order of the tree)
+        probe.intercept = event.y;
+        Iterator<Segment> passing = status.tailSet(probe, false).iterator();
+        while (passing.hasNext()) {
+
+            Segment segment = passing.next();
+            if (!Utilities.doubleComparison(segment.getYatX(sweepX), event.y)) break;
+
+            passing.remove();
+            segment.isInStatus = false;
+            if (segment.movingAt != event) {
+                segment.movingAt = event;
+                involved.add(segment);
+            }
+        }
+        for (Segment segment : involved) { //segments of the event that are slightly off because of rounding
+            if (!segment.isInStatus) continue;
+            if (!status.remove(segment)) status.removeIf(s -> s == segment);
+            segment.isInStatus = false;
+        }
+        reportPairs(involved);
+
+        Segment below = status.lower(probe); //neighbours of the removed segments
+        Segment above = status.higher(probe);
+
+        //reinsert the segments that continue right of the point
+        ArrayList<Segment> inserted = new ArrayList<>();
+        for (Segment segment : involved) {
+            if (segment.endEvent == event) segment.isFinished = true;
+            else if (!segment.isFinished) inserted.add(segment);
+        }
+        inserted.sort(this::compareSegments);
+
+        for (Segment segment : inserted) {
+            status.add(segment);
+            segment.isInStatus = true;
+        }
+
+        if (inserted.isEmpty()) { //former neighbours of the removed segments are now next to each other
+            findNewEvent(below, above, event);
+        } else {
+            Segment lowest = inserted.get(0);
+            Segment highest = inserted.get(inserted.size() - 1);
+            findNewEvent(neighbour(lowest, false, event), lowest, event);
+            findNewEvent(highest, neighbour(highest, true, event), event);
+        }
+    }
+
+    /**
+     * Returns the next segment below or above the given segment in the status that is not currently being moved.
+     *
+     * @param segment the segment to start from
+     * @param above   true to search upwards and false to search downwards
+     * @param event   the current event point
+     * @return the neighbour segment or null when there is none
+     */
+    private Segment neighbour(Segment segment, boolean above, EventPoint event) {
+
+        Segment current = above ? status.higher(segment) : status.lower(segment);
+        while (current != null && current.movingAt == event) { //skip segments that pass through the same point
+            current = above ? status.higher(current) : status.lower(current);
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether the two given segments intersect right of the current event point. When they do, both segments are
+     * added to the event at the intersection.
+     *
+     * @param lower the lower segment (may be null)
+     * @param upper the upper segment (may be null)
+     * @param event the current event point
+     */
+    private void findNewEvent(Segment lower, Segment upper, EventPoint event) {
+
+        if (lower == null || upper == null || lower.slope == upper.slope) return; //almost parallel lines must swap, too
+
+        Segment first = lower.index < upper.index ? lower : upper; //same calculation for the pair every time
+        Segment second = first == lower ? upper : lower;
+        double x = (second.intercept - first.intercept) / (first.slope - second.slope);
+        if (x < Math.max(lower.startX, upper.startX) - 0.000001 || x > Math.min(lower.endX, upper.endX) + 0.000001) return;
+
+        double y = first.getYatX(x);
+        if (compareEventPoints(new EventPoint(x, y), event) <= 0) return; //already passed
+
+        EventPoint crossing = getOrAddEvent(x, y);
+        crossing.add(lower);
+        crossing.add(upper);
+    }
+
+    /**
+     * Stores all non-parallel pairs of the given segments, because all of them pass through the same event point.
+     *
+     * @param involved the segments of one event point
+     */
+    private void reportPairs(ArrayList<Segment> involved) {
+
+        for (int i = 0; i < involved.size(); i++) {
+            for (int j = i + 1; j < involved.size(); j++) {
+
+                Segment first = involved.get(i);
+                Segment second = involved.get(j);
+                if (Utilities.isParallel(first.slope, second.slope)) continue; //identical or parallel lines
+
+                double x = (second.intercept - first.intercept) / (first.slope - second.slope);
+                if (!isInsideRegion(x, first.getYatX(x))) continue; //only passing close to each other
+
+                if (pairCount == pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                int smaller = Math.min(first.index, second.index);
+                int bigger = Math.max(first.index, second.index);
+                pairs[pairCount++] = ((long) smaller << 32) | bigger;
+            }
+        }
+    }
+
+    /**
+     * Sorts the found pairs and removes pairs that were found more than once.
+     *
+     * @return the found pairs as flat int array
+     */
+    private int[] sortedUniquePairs() {
+
+        Arrays.sort(pairs, 0, pairCount);
+
+        int[] result = new int[pairCount * 2];
+        int resultSize = 0;
+        for (int i = 0; i < pairCount; i++) {
+
+            if (i > 0 && pairs[i] == pairs[i - 1]) continue; //duplicate
+            result[resultSize++] = (int) (pairs[i] >>> 32);
+            result[resultSize++] = (int) pairs[i];
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Cuts the line y = slope * x + intercept to the region of this instance including its border (see isInsideRegion).
+     *
+     * @param index     the index of the line
+     * @param slope     the slope of the line
+     * @param intercept the intercept of the line with the y-axis
+     * @return the segment of the line inside the region or null when the line does not cross the region
+     */
+    private Segment clipToRegion(int index, double slope, double intercept) {
+
+        if (!Double.isFinite(slope) || !Double.isFinite(intercept)) return null;
+
+        double startX = minX - BORDER; //the region with its border, so lines that meet on the border overlap
+        double endX = maxX + BORDER;
+
+        if (Utilities.doubleComparison(slope, 0)) { //horizontal line
+            if (intercept < minY - BORDER || intercept > maxY + BORDER) return null;
+        } else {
+            double xAtMinY = (minY - BORDER - intercept) / slope;
+            double xAtMaxY = (maxY + BORDER - intercept) / slope;
+            startX = Math.max(startX, Math.min(xAtMinY, xAtMaxY));
+            endX = Math.min(endX, Math.max(xAtMinY, xAtMaxY));
+        }
+
+        if (startX > endX) return null; //line misses the region
+        return new Segment(index, slope, intercept, startX, endX);
+    }
+
+    /**
+     * Checks whether the given point lies inside the region of this instance (the border belongs to the region).
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true when the point lies inside the region and else false
+     */
+    public boolean isInsideRegion(double x, double y) {
+        return x >= minX - BORDER && x <= maxX + BORDER && y >= minY - BORDER && y <= maxY + BORDER;
+    }
+
+    /**
+     * Returns the event at the given position. When there is none yet, a new event is created.
+     *
+     * @param x the x-coordinate of the event
+     * @param y the y-coordinate of the event
+     * @return the event at the given position
+     */
+    private EventPoint getOrAddEvent(double x, double y) {
+
+        EventPoint newEvent = new EventPoint(x, y);
+        EventPoint existing = events.putIfAbsent(newEvent, newEvent);
+        return existing != null ? existing : newEvent;
+    }
+
+    /**
+     * Compares two segments according to their y-coordinate at the sweep-line. Segments that meet at the sweep-line are
+     * ordered by their slope as they are ordered just after the sweep-line. The probe only compares the y-coordinate and
+     * lies below all segments of the same height.
+     *
+     * @param first  the first segment to compare
+     * @param second the second segment to compare
+     * @return a negative number when the first segment is below the second, a positive number when it is above and 0
+     * when both are the same segment
+     */
+    private int compareSegments(Segment first, Segment second) {
+
+        if (first == second) return 0;
+        if (first == probe || second == probe) { //the probe only compares the height
+            double probeY = first == probe ? second.getYatX(sweepX) : first.getYatX(sweepX);
+            int compared = Utilities.doubleComparison(probe.intercept, probeY) ? -1 : Double.compare(probe.intercept, probeY);
+            return first == probe ? compared : -compared;
+        }
+
+        boolean meetAtEvent = first.movingAt == currentEvent && second.movingAt == currentEvent && currentEvent != null;
+        double firstY = first.getYatX(sweepX);
+        double secondY = second.getYatX(sweepX);
+        if (!meetAtEvent && !Utilities.doubleComparison(firstY, secondY)) return Double.compare(firstY, secondY);
+
+        int bySlope = Double.compare(first.slope, second.slope);
+        if (bySlope != 0) return bySlope; //segments meet at the sweep-line, the steeper one is above right of it
+        return Integer.compare(first.index, second.index); //identical lines
+    }
+
+    /**
+     * Compares two event points from left to right and from bottom to top. The coordinates are compared exactly, so that
+     * the events are handled in their real order. Segments that pass close to each other are gathered at each event
+     * from the status instead.
+     *
+     * @param first  the first event point
+     * @param second the second event point
+     * @return a negative number when the first point comes first, a positive number when it comes later and 0 when the
+     * points are equal
+     */
+    private static int compareEventPoints(EventPoint first, EventPoint second) {
+
+        int byX = Double.compare(first.x, second.x);
+        return byX != 0 ? byX : Double.compare(first.y, second.y);
+    }
+
+
+    //Inner classes
+
+    /**
+     * Represents the part of a line inside the region.
+     */
+    private static class Segment {
+
+        private final int index;
+        private final double slope;
+        private double intercept;
+        private final double startX;
+        private final double endX;
+
+        private EventPoint endEvent;
+        private boolean isInStatus;
+        private boolean isFinished;
+        private EventPoint movingAt; //event at which the segment is currently removed and reinserted
+
+        private Segment(int index, double slope, double intercept, double startX, double endX) {
+            this.index = index;
+            this.slope = slope;
+            this.intercept = intercept;
+            this.startX = startX;
+            this.endX = endX;
+        }
+
+        private double getYatX(double x) {
+            return slope * x + intercept;
+        }
+    }
+
+    /**
+     * Represents a point where the sweep-line has to stop, with all segments that start, end or cross there.
+     */
+    private static class EventPoint {
+
+        private final double x;
+        private final double y;
+        private final ArrayList<Segment> segments = new ArrayList<>();
+
+        private EventPoint(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        private void add(Segment segment) {
+            if (!segments.contains(segment)) segments.add(segment);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import datascructures.MyList;
 import geoviz.shapes.MyCircle;
 import geoviz.shapes.MyLine;
 import geoviz.shapes.MyPoint;
+import javafx.scene.paint.Color;
 
 /**
  * Holds useful utilities in oder to deal with objects or shapes
@@ -11,6 +12,10 @@ import geoviz.shapes.MyPoint;
 public class Utilities {
 
 
+    //Static variables
+    public static final double EPSILON = 0.000001; //values that differ less are treated as equal
+
+
     //Static functions
 
     /**
@@ -22,7 +27,29 @@ public class Utilities {
      */
     public static boolean doubleComparison(double a, double b) {
 
-        return (Math.abs(a - b) < 0.000001);
+        return (Math.abs(a - b) < EPSILON);
+    }
+
+    /**
+     * Converts the given color to an ARGB integer (8 bits for each of alpha, red, green and blue) as stored in ShapeModel
+     *
+     * @param color the color to convert
+     * @return the ARGB integer of the color
+     */
+    public static int toArgb(Color color) {
+
+        return ((int) Math.round(color.getOpacity() * 255) << 24) | ((int) Math.round(color.getRed() * 255) << 16) |
+                ((int) Math.round(color.getGreen() * 255) << 8) | (int) Math.round(color.getBlue() * 255);
+    }
+
+    /**
+     * Converts the given ARGB integer (as stored in ShapeModel) to a color
+     *
+     * @param argb the ARGB integer to convert
+     * @return the color of the ARGB integer
+     */
+    public static Color toColor(int argb) {
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
     }
 
     /**
@@ -187,6 +214,38 @@ public class Utilities {
         return Math.sqrt(square(point2.getX() - point1.getX()) + square(point2.getY() - point1.getY()));
     }
 
+    /**
+     * Calculates the euclidean distance between two points
+     *
+     * @param x1 x-coordinate of the first point
+     * @param y1 y-coordinate of the first point
+     * @param x2 x-coordinate of the second point
+     * @param y2 y-coordinate of the second point
+     * @return double value that represents the euclidean distance between the two points
+     */
+    public static double getDistance(double x1, double y1, double x2, double y2) {
+        return Math.sqrt(square(x2 - x1) + square(y2 - y1));
+    }
+
+    /**
+     * Checks whether two circles can intersect by comparing the distance of their centers with their radii. The circles
+     * cannot intersect when the distance is greater than the sum of the radii (they lie apart) or smaller than the
+     * difference of the radii (one lies inside the other). Identical circles can intersect.
+     *
+     * @param firstX  x-coordinate of the center of the first circle
+     * @param firstY  y-coordinate of the center of the first circle
+     * @param firstR  radius of the first circle
+     * @param secondX x-coordinate of the center of the second circle
+     * @param secondY y-coordinate of the center of the second circle
+     * @param secondR radius of the second circle
+     * @return false when the circles cannot intersect and else true
+     */
+    public static boolean canIntersect(double firstX, double firstY, double firstR, double secondX, double secondY, double secondR) {
+
+        double distance = Math.sqrt(square(secondX - firstX) + square(secondY - firstY));
+        return !(distance > firstR + secondR + 0.000001) && !(distance < Math.abs(firstR - secondR) - 0.000001);
+    }
+
     /**
      * Calculates the intersection of two lines given by four MyPoint instances.
      *
@@ -195,45 +254,11 @@ public class Utilities {
      */
     public static MyPoint getPointOfIntersection(MyPoint firstPointLine1, MyPoint secondPointLine1, MyPoint firstPointLine2, MyPoint secondPointLine2) {
 
-        double intersectionPointX;
-        double intersectionPointY;
-
-        //calculate slopes
-        double slope1 = getSlope(firstPointLine1.getX(), firstPointLine1.getY(), secondPointLine1.getX(), secondPointLine1.getY());
-        double slope2 = getSlope(firstPointLine2.getX(), firstPointLine2.getY(), secondPointLine2.getX(), secondPointLine2.getY());
-        //calculate intersections with y-axis
-        double b1 = getIntercept(firstPointLine1.getX(), firstPointLine1.getY(), secondPointLine1.getX(), secondPointLine1.getY());
-        double b2 = getIntercept(firstPointLine2.getX(), firstPointLine2.getY(), secondPointLine2.getX(), secondPointLine2.getY());
-
-        //calculate intersection of the two lines
-
-        //check special cases
-        if (Double.isInfinite(slope1) && Double.isInfinite(slope2)) { //both lines are vertical
+        double[] result = new double[2];
+        int count = getPointOfIntersection(firstPointLine1.getX(), firstPointLine1.getY(), secondPointLine1.getX(), secondPointLine1.getY(),
+                firstPointLine2.getX(), firstPointLine2.getY(), secondPointLine2.getX(), secondPointLine2.getY(), result);
 
-            if (doubleComparison(firstPointLine1.getX(), firstPointLine2.getX())) { //lines are identical
-                return new MyPoint(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY); //because we must return a point
-            } else return null; //because lines do not intersect
-
-        } else if (Double.isInfinite(slope1))
-            return new MyPoint(firstPointLine1.getX(), slope2 * firstPointLine1.getX() + b2); // line 1 is vertical line 2 is not
-
-        else if (Double.isInfinite(slope2))
-            return new MyPoint(firstPointLine2.getX(), slope1 * secondPointLine1.getX() + b1);  // line 2 is vertical line 1 is not
-
-        else { //normal case
-
-            if (doubleComparison(slope1, slope2) && doubleComparison(firstPointLine1.getY(), slope2 * firstPointLine1.getX() + b2)) { //are identical
-                return new MyPoint(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY); //because we must return a point
-
-            } else if (doubleComparison(slope1, slope2) && !doubleComparison(firstPointLine1.getY(), slope2 * firstPointLine2.getX() + b2)) { //do not intersect
-                return null; //because lines do not intersect
-            }
-            //calculate intersection
-            intersectionPointX = (b2 - b1) / (slope1 - slope2);
-            intersectionPointY = slope1 * intersectionPointX + b1;
-
-            return new MyPoint(intersectionPointX, intersectionPointY);
-        }
+        return count == 0 ? null : new MyPoint(result[0], result[1]);
     }
 
     /**
@@ -245,26 +270,12 @@ public class Utilities {
      * @param point4 is the y-coordinate of line two
      * @return array that represents the point of intersection ([0] represents x-coordinate and [1] represents y-coordinate).
      * When the two lines are identical the x and y values of the returned array are +infinity and when they do not
-     * intersect null.
+     * intersect both are 0.
      */
     public static double[] getPointOfIntersection(double[] point1, double[] point2, double[] point3, double[] point4) {
 
         double[] intersectionPoint = new double[2];
-
-        //Create MyPoint instances
-        MyPoint firstPointLine1 = new MyPoint(point1[0], point1[1]);
-        MyPoint secondPointLine1 = new MyPoint(point2[0], point2[1]);
-        MyPoint firstPointLine2 = new MyPoint(point3[0], point3[1]);
-        MyPoint secondPointLine2 = new MyPoint(point4[0], point4[1]);
-
-        //Get intersection-point
-
-        if (getPointOfIntersection(firstPointLine1, secondPointLine1, firstPointLine2, secondPointLine2) != null) { //fill the array
-
-            MyPoint intersection = getPointOfIntersection(firstPointLine1, secondPointLine1, firstPointLine2, secondPointLine2);
-            intersectionPoint[0] = intersection.getX();
-            intersectionPoint[1] = intersection.getY();
-        }
+        getPointOfIntersection(point1[0], point1[1], point2[0], point2[1], point3[0], point3[1], point4[0], point4[1], intersectionPoint);
 
         return intersectionPoint;
     }
@@ -294,57 +305,11 @@ public class Utilities {
      */
     public static MyList<MyPoint> getPointOfIntersection(MyLine line, MyCircle circle) {
 
-        MyList<MyPoint> intersections = new MyList<>();
-        MyList<Double> results;
-
-        //circle variables
-        double circleX = circle.getCenter().getX();
-        double circleY = circle.getCenter().getY();
-        //line variables
-        double lineM = line.getSlope();
-        double lineB = line.getIntercept();
-
-        //construct a, b and c for midnight formula
-        double a = 1 + square(lineM);
-        double b = -2 * circleX + 2 * lineB * lineM - 2 * circleY * lineM;
-        double c = square(circleX) + square(circleY) - 2 * circleY * lineB + square(lineB) - square(circle.getRadius());
-
-        if (doubleComparison(discriminant(a, b, c), 0) || Double.isNaN(a) || Double.isNaN(b) || Double.isNaN(c))
-            return intersections; //no intersection
-
-        else if (doubleComparison(line.getStartPoint().getX(), line.getEndPoint().getX())) { //line is vertical
-
-            //calculate values for a, b ,c with regard to vertical line
-            double xCoordinate = line.getStartPoint().getX();
-            a = 1;
-            b = -2 * circleY;
-            c = square(xCoordinate) - 2 * xCoordinate * circleX + square(circleX) + square(circleY) - square(circle.getRadius());
-
-            if (doubleComparison(discriminant(a, b, c), 0)) return intersections; //no intersection
-            //fill list of solutions with resulting points
-            results = quadraticFormula(a, b, c);
-
-            MyPoint first = new MyPoint(xCoordinate, results.get(0));
-            MyPoint second = new MyPoint(xCoordinate, results.get(1));
-
-            if (results.get(0) != null) intersections.add(first); //add intersections to MyList
-            if (results.get(1) != null && !(first.getX() == second.getX() && first.getY() == second.getY()))
-                intersections.add(second);
-
-        } else { //standard case
-
-            //fill list of solutions with resulting points
-            results = quadraticFormula(a, b, c);
+        double[] result = new double[4];
+        int count = getPointOfIntersection(line.getStartPoint().getX(), line.getStartPoint().getY(), line.getEndPoint().getX(),
+                line.getEndPoint().getY(), circle.getCenter().getX(), circle.getCenter().getY(), circle.getRadius(), result);
 
-            MyPoint first = new MyPoint(results.get(0), line.getYatX(results.get(0)));
-            MyPoint second = new MyPoint(results.get(1), line.getYatX(results.get(1)));
-
-            if (results.get(0) != null) intersections.add(first); //add intersections to MyList
-            if (results.get(1) != null && !(first.getX() == second.getX() && first.getY() == second.getY())) {
-                intersections.add(second);
-            }
-        }
-        return intersections;
+        return toPointList(result, count);
     }
 
     /**
@@ -358,19 +323,76 @@ public class Utilities {
      */
     public static MyList<MyPoint> getPointOfIntersection(MyCircle firstCircle, MyCircle secondCircle) {
 
-        MyList<MyPoint> intersections;
-        MyLine intersectionLine;
+        double[] result = new double[4];
+        int count = getPointOfIntersection(firstCircle.getCenter().getX(), firstCircle.getCenter().getY(), firstCircle.getRadius(),
+                secondCircle.getCenter().getX(), secondCircle.getCenter().getY(), secondCircle.getRadius(), result);
+
+        return toPointList(result, count);
+    }
+
+    /**
+     * Calculates the intersection of two lines, each given by two points, and writes it into the given array. Nothing is
+     * allocated, so it can be called for many pairs of lines with the same array.
+     *
+     * @param x1     x-coordinate of the first point of line one
+     * @param y1     y-coordinate of the first point of line one
+     * @param x2     x-coordinate of the second point of line one
+     * @param y2     y-coordinate of the second point of line one
+     * @param x3     x-coordinate of the first point of line two
+     * @param y3     y-coordinate of the first point of line two
+     * @param x4     x-coordinate of the second point of line two
+     * @param y4     y-coordinate of the second point of line two
+     * @param result array with a length of at least 2, [0] is set to the x-coordinate and [1] to the y-coordinate of the
+     *               intersection. When the lines are identical both are +infinity.
+     * @return the number of intersections written into the array (0 or 1)
+     */
+    public static int getPointOfIntersection(double x1, double y1, double x2, double y2, double x3, double y3, double x4, double y4, double[] result) {
+        return lineLineIntersection(getSlope(x1, y1, x2, y2), getIntercept(x1, y1, x2, y2), x1, y1, x2,
+                getSlope(x3, y3, x4, y4), getIntercept(x3, y3, x4, y4), x3, result);
+    }
+
+    /**
+     * Calculates the intersections of a line, given by two points, and a circle and writes them into the given array.
+     * Nothing is allocated, so it can be called for many pairs with the same array.
+     *
+     * @param startX  x-coordinate of the start-point of the line
+     * @param startY  y-coordinate of the start-point of the line
+     * @param endX    x-coordinate of the end-point of the line
+     * @param endY    y-coordinate of the end-point of the line
+     * @param centerX x-coordinate of the center of the circle
+     * @param centerY y-coordinate of the center of the circle
+     * @param radius  radius of the circle
+     * @param result  array with a length of at least 4, the intersections are written into it one after another ([0] and
+     *                [1] are x and y of the first intersection, [2] and [3] of the second one)
+     * @return the number of intersections written into the array (0, 1 or 2)
+     */
+    public static int getPointOfIntersection(double startX, double startY, double endX, double endY, double centerX, double centerY, double radius, double[] result) {
+        return lineCircleIntersection(getSlope(startX, startY, endX, endY), getIntercept(startX, startY, endX, endY), startX, endX,
+                centerX, centerY, radius, result);
+    }
 
-        //construct intersection-line
-        double firstX = firstCircle.getCenter().getX();
-        double firstY = firstCircle.getCenter().getY();
-        double firstR = firstCircle.getRadius();
-        double secondX = secondCircle.getCenter().getX();
-        double secondY = secondCircle.getCenter().getY();
-        double secondR = secondCircle.getRadius();
+    /**
+     * Calculates the intersections of two circles and writes them into the given array. Nothing is allocated, so it can
+     * be called for many pairs of circles with the same array.
+     *
+     * @param firstX  x-coordinate of the center of the first circle
+     * @param firstY  y-coordinate of the center of the first circle
+     * @param firstR  radius of the first circle
+     * @param secondX x-coordinate of the center of the second circle
+     * @param secondY y-coordinate of the center of the second circle
+     * @param secondR radius of the second circle
+     * @param result  array with a length of at least 4, the intersections are written into it one after another ([0] and
+     *                [1] are x and y of the first intersection, [2] and [3] of the second one). When the circles are
+     *                identical one intersection with x and y are +infinity is written.
+     * @return the number of intersections written into the array (0, 1 or 2)
+     */
+    public static int getPointOfIntersection(double firstX, double firstY, double firstR, double secondX, double secondY, double secondR, double[] result) {
 
         if (doubleComparison(firstX, secondX) && doubleComparison(firstY, secondY) && doubleComparison(firstR, secondR)) { //circles are identical
-            return new MyList<>(new MyPoint(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+
+            result[0] = Double.POSITIVE_INFINITY;
+            result[1] = Double.POSITIVE_INFINITY;
+            return 1;
 
         } else if (doubleComparison((2 * firstY - 2 * secondY), 0)) { //circles intersect in a vertical line
 
@@ -378,43 +400,118 @@ public class Utilities {
             double xCoordinate = (-square(firstX) - square(firstY) + square(firstR) + square(secondX) + square(secondY) -
                     square(secondR)) / (-2 * firstX + 2 * secondX);
 
-            intersectionLine = new MyLine(new MyPoint(xCoordinate, 1), new MyPoint(xCoordinate, 2));
+            return lineCircleIntersection(getSlope(xCoordinate, 1, xCoordinate, 2), getIntercept(xCoordinate, 1, xCoordinate, 2),
+                    xCoordinate, xCoordinate, firstX, firstY, firstR, result);
         } else {
 
-            //calculate intersection-line
+            //calculate intersection-line through (1, m + b) and (4, 4m + b)
             double m = (-2 * firstX + 2 * secondX) / (2 * firstY - 2 * secondY);
             double b = (square(firstX) + square(firstY) - square(firstR) - square(secondX) - square(secondY) +
                     square(secondR)) / (2 * firstY - 2 * secondY);
 
-            intersectionLine = new MyLine(new MyPoint(1, m + b), new MyPoint(4, 4 * m + b));
+            return lineCircleIntersection(getSlope(1, m + b, 4, 4 * m + b), getIntercept(1, m + b, 4, 4 * m + b), 1, 4,
+                    firstX, firstY, firstR, result);
         }
-        intersections = getPointOfIntersection(intersectionLine, firstCircle);
-        return intersections;
     }
 
+    /**
+     * Calculates the intersection of two lines given by their slopes and intercepts. The x- and y-coordinates of the
+     * start-points are needed for vertical and parallel lines (see getPointOfIntersection).
+     *
+     * @return the number of intersections written into the array (0 or 1)
+     */
+    static int lineLineIntersection(double slope1, double b1, double startX1, double startY1, double endX1, double slope2, double b2, double startX2, double[] result) {
 
-    //Helping functions
+        //check special cases
+        if (Double.isInfinite(slope1) && Double.isInfinite(slope2)) { //both lines are vertical
+
+            if (!doubleComparison(startX1, startX2)) return 0; //lines do not intersect
+            result[0] = Double.POSITIVE_INFINITY; //lines are identical
+            result[1] = Double.POSITIVE_INFINITY;
+
+        } else if (Double.isInfinite(slope1)) { // line 1 is vertical line 2 is not
+
+            result[0] = startX1;
+            result[1] = slope2 * startX1 + b2;
+
+        } else if (Double.isInfinite(slope2)) { // line 2 is vertical line 1 is not
+
+            result[0] = startX2;
+            result[1] = slope1 * endX1 + b1;
+
+        } else if (doubleComparison(slope1, slope2) && doubleComparison(startY1, slope2 * startX1 + b2)) { //are identical
+
+            result[0] = Double.POSITIVE_INFINITY;
+            result[1] = Double.POSITIVE_INFINITY;
+
+        } else if (doubleComparison(slope1, slope2) && !doubleComparison(startY1, slope2 * startX2 + b2)) { //do not intersect
+            return 0;
+
+        } else { //calculate intersection
+
+            result[0] = (b2 - b1) / (slope1 - slope2);
+            result[1] = slope1 * result[0] + b1;
+        }
+        return 1;
+    }
 
     /**
-     * Represents the quadratic formula to calculate intersection-points
+     * Calculates the intersections of the line y = lineM * x + lineB and a circle with the midnight formula. The
+     * x-coordinates of the points of the line are needed to find vertical lines.
      *
-     * @param a the first variable (ax²)
-     * @param b the second variable (bx)
-     * @param c the third variable (c)
-     * @return a MyList instance
+     * @return the number of intersections written into the array (0, 1 or 2)
      */
-    private static MyList<Double> quadraticFormula(double a, double b, double c) {
+    static int lineCircleIntersection(double lineM, double lineB, double startX, double endX, double circleX, double circleY, double radius, double[] result) {
+
+        //construct a, b and c for midnight formula
+        double a = 1 + square(lineM);
+        double b = -2 * circleX + 2 * lineB * lineM - 2 * circleY * lineM;
+        double c = square(circleX) + square(circleY) - 2 * circleY * lineB + square(lineB) - square(radius);
+
+        if (discriminant(a, b, c) == 0 || Double.isNaN(a) || Double.isNaN(b) || Double.isNaN(c)) return 0; //no intersection
+
+        if (doubleComparison(startX, endX)) { //line is vertical
+
+            //calculate values for a, b ,c with regard to vertical line
+            a = 1;
+            b = -2 * circleY;
+            c = square(startX) - 2 * startX * circleX + square(circleX) + square(circleY) - square(radius);
+            if (discriminant(a, b, c) == 0) return 0; //no intersection
+
+            result[0] = startX;
+            result[1] = (-b - Math.sqrt(square(b) - 4 * a * c)) / (2 * a);
+            result[2] = startX;
+            result[3] = (-b + Math.sqrt(square(b) - 4 * a * c)) / (2 * a);
+
+        } else { //standard case
+
+            if (doubleComparison(2 * a, 0)) return 0; //to avoid dividing by 0
+
+            result[0] = (-b - Math.sqrt(square(b) - 4 * a * c)) / (2 * a);
+            result[1] = lineM * result[0] + lineB;
+            result[2] = (-b + Math.sqrt(square(b) - 4 * a * c)) / (2 * a);
+            result[3] = lineM * result[2] + lineB;
+        }
+
+        return result[0] == result[2] && result[1] == result[3] ? 1 : 2; //a touching line gives only one intersection
+    }
+
 
-        MyList<Double> results = new MyList<>();
-        if (doubleComparison(2 * a, 0)) return results; //to avoid dividing by 0
+    //Helping functions
 
-        double firstSolution = ((-b - Math.sqrt(square(b) - 4 * a * c)) / (2 * a));
-        double secondSolution = ((-b + Math.sqrt(square(b) - 4 * a * c)) / (2 * a));
+    /**
+     * Creates a MyList instance with a MyPoint instance for each of the given intersections
+     *
+     * @param result array that holds the x and y coordinates of the intersections one after another
+     * @param count  the number of intersections in the array
+     * @return a list of count MyPoint instances
+     */
+    private static MyList<MyPoint> toPointList(double[] result, int count) {
 
-        results.add(firstSolution);
-        results.add(secondSolution);
+        MyList<MyPoint> intersections = new MyList<>();
+        for (int i = 0; i < count; i++) intersections.add(new MyPoint(result[2 * i], result[2 * i + 1]));
 
-        return results;
+        return intersections;
     }
 
     /**
@@ -1,7 +1,6 @@
 package geoviz.shapes;
 
 import geoviz.Utilities;
-import javafx.scene.control.Tooltip;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
@@ -32,9 +31,6 @@ public class MyCircle extends Circle {
         setCenterX(center.getX()); //set parent variables
         setCenterY(center.getY());
         setRadius(radius);
-
-        //add tooltip to get information when hovering over instance
-        Tooltip.install(this, new Tooltip("x: " + Utilities.round2(center.getX()) + "\ny: " + Utilities.round2(center.getY()) + "\nradius: " + Utilities.round2(radius)));
     }
 
 
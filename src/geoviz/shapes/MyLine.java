@@ -1,7 +1,7 @@
 package geoviz.shapes;
 
+import geoviz.ShapeIndex;
 import geoviz.Utilities;
-import javafx.scene.control.Tooltip;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
 
@@ -44,24 +44,11 @@ public class MyLine extends Line {
 
         setStartX(0); //set parent variables
         setStartY(intercept);
-        setEndX(10000000);
-        setEndY(slopeOfLine * 10000000 + intercept);
+        setEndX(ShapeIndex.LINE_END_X);
+        setEndY(slopeOfLine * ShapeIndex.LINE_END_X + intercept);
 
         setStrokeWidth(3); //set visuals
         setStroke(color);
-
-        //add tooltip to get information when hovering over instance
-        String slopeText = Double.toString(Utilities.round2(slopeOfLine)); //normal information
-        String interceptText = Double.toString(Utilities.round2(intercept));
-
-        //information for vertical slope
-        if (0 > Double.compare(50, slopeOfLine) || 0 < Double.compare(-50, slopeOfLine)) {
-            slopeText = "Infinity";
-            interceptText = "No interception";
-        }
-
-        //create and install tooltip
-        Tooltip.install(this, new Tooltip("slope: " + slopeText + "\nintercept: " + interceptText));
     }
 
 
@@ -1,8 +1,5 @@
 package geoviz.shapes;
 
-import geoviz.Utilities;
-import graphics.Graphics;
-import javafx.scene.control.Tooltip;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
@@ -77,7 +74,8 @@ public class MyPoint extends Circle {
     //Helping methods
 
     /**
-     * Sets all attributes of the current MyPoint instance. Also sets the OnMouseClicked behaviour.
+     * Sets all attributes of the current MyPoint instance. Tooltips and clicks are handled for all shapes together by
+     * hit-testing, so no handlers are installed.
      */
     private void setAll() {
 
@@ -85,11 +83,5 @@ public class MyPoint extends Circle {
         setCenterY(yPos);
         setRadius(2);
         setRadius(5);
-
-        //add tooltip to get information when hovering over instance
-        Tooltip.install(this, new Tooltip("x: " + Utilities.round2(xPos) + "\ny: " + Utilities.round2(yPos)));
-
-        //handle click on current MyPoint instance
-        this.setOnMouseClicked(mouseEvent -> Graphics.getInstance().handlePointClicked(this));
     }
 }
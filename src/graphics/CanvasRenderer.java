@@ -0,0 +1,328 @@
+package graphics;
+
+import datascructures.DoubleList;
+import datascructures.GridPointSet;
+import datascructures.IntList;
+import geoviz.ShapeIndex;
+import geoviz.ShapeModel;
+import geoviz.Utilities;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws all points, lines, circles and intersections of a ShapeModel on a single Canvas instead of creating a node for
+ * each shape. The shapes are drawn directly from the arrays of the model. Shapes of the same color that follow each other
+ * are collected in one path, so there is only one fill or stroke call for them. The canvas covers the view and the shapes
+ * are drawn with the transform of the Viewport; only the shapes that the ShapeIndex finds in the visible area are drawn.
+ * Dense areas of points are drawn as one marker per cell of a few pixels, shaded by the number of points in it, so zoomed
+ * out the number of drawn points depends on the size of the canvas and not on the number of points. Zooming in makes the
+ * cells smaller and finally shows the single points.
+ */
+public class CanvasRenderer {
+
+
+    //Static variables
+    private static final double POINT_RADIUS = 5; //same sizes as the nodes
+    private static final double STROKE_WIDTH = 3;
+    private static final double MAX_CANVAS_SIZE = 8192; //bigger canvases cannot be stored in a texture
+    private static final double CLUSTER_CELL_SIZE = 8; //size of the cells of dense points in pixels
+    private static final int CLUSTER_POINT_LIMIT = 4; //cells with up to this number of points show the single points
+    private static final Color CLUSTER_COLOR = Color.DARKSLATEBLUE;
+    private static final int CLUSTER_SHADES = 8; //number of different opacities of the clusters
+
+
+    //Object variables
+    private final Canvas canvas = new Canvas();
+    private final ShapeModel model;
+    private final GridPointSet intersections; //the shown intersections, each position only once
+    private final ShapeIndex index;
+    private final Viewport viewport;
+
+    private final IntList visiblePoints = new IntList(); //reused for every redraw
+    private final IntList visibleLines = new IntList();
+    private final IntList visibleCircles = new IntList();
+    private final IntList visibleIntersections = new IntList();
+    private final DoubleList clusters = new DoubleList(); //x, y and number of points of the visible clusters
+
+    private int selectedPoint = -1; //index of the highlighted point, -1 when no point is selected
+    private boolean redrawIsRequested = false;
+
+
+    //Constructor
+    public CanvasRenderer(ShapeModel model, GridPointSet intersections, ShapeIndex index, Viewport viewport) {
+
+        this.model = model;
+        this.intersections = intersections;
+        this.index = index;
+        this.viewport = viewport;
+
+        canvas.widthProperty().addListener((observable, oldWidth, newWidth) -> requestRedraw()); //draw again when resized
+        canvas.heightProperty().addListener((observable, oldHeight, newHeight) -> requestRedraw());
+    }
+
+
+    //Getter and setter
+
+    /**
+     * Returns the Canvas instance the shapes are drawn on.
+     *
+     * @return the canvas of this renderer.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Sets the point that is highlighted (like the last clicked MyPoint instance) and draws the shapes again.
+     *
+     * @param selectedPoint the index of the point in the model or -1 to highlight no point.
+     */
+    public void setSelectedPoint(int selectedPoint) {
+        this.selectedPoint = selectedPoint;
+        requestRedraw();
+    }
+
+    /**
+     * Sets the size of the canvas. The size is limited, because bigger canvases cannot be drawn.
+     *
+     * @param width  the new width of the canvas
+     * @param height the new height of the canvas
+     */
+    public void setSize(double width, double height) {
+        canvas.setWidth(Math.min(width, MAX_CANVAS_SIZE));
+        canvas.setHeight(Math.min(height, MAX_CANVAS_SIZE));
+    }
+
+
+    //Object methods
+
+    /**
+     * Draws the shapes again on the next pulse of the JavaFX thread. Several requests before that pulse are drawn only
+     * once.
+     */
+    public void requestRedraw() {
+
+        if (redrawIsRequested) return;
+        redrawIsRequested = true;
+        Platform.runLater(this::redraw);
+    }
+
+    /**
+     * Clears the canvas and draws the visible shapes of the model and the intersections on it. The circles are drawn
+     * first, then the lines and on top the points and intersections (like the order of the Groups). Filled circles are
+     * drawn below the other circles.
+     */
+    public void redraw() {
+
+        redrawIsRequested = false;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (!canvas.isVisible()) return;
+
+        //visible area of the coordinate system
+        double minX = viewport.toWorldX(0);
+        double minY = viewport.toWorldY(0);
+        double maxX = viewport.toWorldX(canvas.getWidth());
+        double maxY = viewport.toWorldY(canvas.getHeight());
+
+        visiblePoints.clear();
+        visibleLines.clear();
+        visibleCircles.clear();
+        clusters.clear();
+        double cellSize = CLUSTER_CELL_SIZE / viewport.getScale(); //size of the cells in the coordinate system
+        index.findPointClusters(minX, minY, maxX, maxY, POINT_RADIUS, cellSize, CLUSTER_POINT_LIMIT, visiblePoints, clusters);
+        index.findLines(minX, minY, maxX, maxY, STROKE_WIDTH, visibleLines);
+        index.findCircles(minX, minY, maxX, maxY, STROKE_WIDTH, visibleCircles);
+        visibleCircles.sortDescending(model.getCircleRadius()); //big ones first like the nodes (Graphics.sortCircles)
+
+        gc.setTransform(viewport.getScale(), 0, 0, viewport.getScale(), viewport.getTranslateX(), viewport.getTranslateY());
+        gc.setLineWidth(STROKE_WIDTH);
+        drawCircles(gc, true);
+        drawCircles(gc, false);
+        drawLines(gc, Math.max(minX, 0), Math.min(maxX, ShapeIndex.LINE_END_X));
+        drawClusters(gc, Math.max(POINT_RADIUS, cellSize / 2));
+        drawPoints(gc);
+        drawIntersections(gc, minX, minY, maxX, maxY);
+    }
+
+
+    //Helping methods
+
+    /**
+     * Draws either the filled or the not filled circles that lie in the visible area, in the order of their radius from
+     * the biggest to the smallest. The circles of the same color that follow each other are drawn as one path.
+     */
+    private void drawCircles(GraphicsContext gc, boolean filled) {
+
+        double[] circleX = model.getCircleX();
+        double[] circleY = model.getCircleY();
+        double[] radius = model.getCircleRadius();
+        int[] color = model.getCircleColor();
+        boolean[] isFilled = model.getCircleFilled();
+
+        gc.beginPath();
+        int pathColor = 0;
+        boolean pathIsEmpty = true;
+
+        for (int c = 0; c < visibleCircles.size(); c++) {
+
+            int i = visibleCircles.get(c);
+            if (isFilled[i] != filled) continue;
+
+            if (!pathIsEmpty && color[i] != pathColor) { //draw the collected circles before the color changes
+                finishPath(gc, pathColor, filled, true); //border like MyCircle
+                gc.beginPath();
+            }
+            pathColor = color[i];
+            pathIsEmpty = false;
+
+            gc.moveTo(circleX[i] + radius[i], circleY[i]); //so the circles are not connected
+            gc.arc(circleX[i], circleY[i], radius[i], radius[i], 0, 360);
+        }
+        if (!pathIsEmpty) finishPath(gc, pathColor, filled, true); //border like MyCircle
+    }
+
+    /**
+     * Draws the visible lines between the given x-coordinates (the part of the MyLine nodes that can be seen). The lines
+     * of the same color that follow each other are drawn as one path.
+     */
+    private void drawLines(GraphicsContext gc, double left, double right) {
+
+        double[] slope = model.getLineSlope();
+        double[] intercept = model.getLineIntercept();
+        int[] color = model.getLineColor();
+
+        gc.beginPath();
+        int pathColor = 0;
+        boolean pathIsEmpty = true;
+
+        for (int l = 0; l < visibleLines.size(); l++) {
+
+            int i = visibleLines.get(l);
+            if (!pathIsEmpty && color[i] != pathColor) { //draw the collected lines before the color changes
+                finishPath(gc, pathColor, false, true);
+                gc.beginPath();
+            }
+            pathColor = color[i];
+            pathIsEmpty = false;
+
+            gc.moveTo(left, slope[i] * left + intercept[i]);
+            gc.lineTo(right, slope[i] * right + intercept[i]);
+        }
+        if (!pathIsEmpty) finishPath(gc, pathColor, false, true);
+    }
+
+    /**
+     * Draws the clusters of dense points with the given radius. The more points a cluster holds, the more opaque it is.
+     * The clusters of the same opacity are drawn as one path.
+     */
+    private void drawClusters(GraphicsContext gc, double radius) {
+
+        double maxCount = 0;
+        for (int i = 2; i < clusters.size(); i += 3) maxCount = Math.max(maxCount, clusters.get(i));
+        if (maxCount == 0) return;
+
+        for (int shade = 0; shade < CLUSTER_SHADES; shade++) {
+
+            gc.beginPath();
+            boolean pathIsEmpty = true;
+            for (int i = 0; i < clusters.size(); i += 3) {
+
+                //logarithmic, so a few very dense cells do not make all other cells transparent
+                int clusterShade = (int) (Math.log1p(clusters.get(i + 2)) / Math.log1p(maxCount) * (CLUSTER_SHADES - 1));
+                if (clusterShade != shade) continue;
+
+                gc.moveTo(clusters.get(i) + radius, clusters.get(i + 1));
+                gc.arc(clusters.get(i), clusters.get(i + 1), radius, radius, 0, 360);
+                pathIsEmpty = false;
+            }
+            if (pathIsEmpty) continue;
+
+            gc.setFill(CLUSTER_COLOR.deriveColor(0, 1, 1, (shade + 1.0) / CLUSTER_SHADES));
+            gc.fill();
+        }
+    }
+
+    /**
+     * Draws all points that lie in the visible area. The points of the same color that follow each other are drawn as one
+     * path. The selected point is drawn on top in the highlight color.
+     */
+    private void drawPoints(GraphicsContext gc) {
+
+        double[] pointX = model.getPointX();
+        double[] pointY = model.getPointY();
+        int[] color = model.getPointColor();
+
+        gc.beginPath();
+        int pathColor = 0;
+        boolean pathIsEmpty = true;
+
+        for (int p = 0; p < visiblePoints.size(); p++) {
+
+            int i = visiblePoints.get(p);
+            if (!pathIsEmpty && color[i] != pathColor) { //draw the collected points before the color changes
+                finishPath(gc, pathColor, true, false);
+                gc.beginPath();
+            }
+            pathColor = color[i];
+            pathIsEmpty = false;
+            addPoint(gc, pointX[i], pointY[i]);
+        }
+        if (!pathIsEmpty) finishPath(gc, pathColor, true, false);
+
+        if (selectedPoint >= 0 && selectedPoint < model.getPointCount()) { //same colors as for the last clicked MyPoint
+            boolean isDarkRed = Utilities.toColor(color[selectedPoint]).equals(Color.DARKRED);
+            gc.setFill(isDarkRed ? Color.GREEN : Color.DARKRED);
+            gc.beginPath();
+            addPoint(gc, pointX[selectedPoint], pointY[selectedPoint]);
+            gc.fill();
+        }
+    }
+
+    /**
+     * Draws all intersections that lie in the visible area as green points in one path. Only the intersections in the
+     * area are visited (see GridPointSet.findInArea).
+     */
+    private void drawIntersections(GraphicsContext gc, double minX, double minY, double maxX, double maxY) {
+
+        visibleIntersections.clear();
+        intersections.findInArea(minX - POINT_RADIUS, minY - POINT_RADIUS, maxX + POINT_RADIUS, maxY + POINT_RADIUS,
+                visibleIntersections); //the points that reach into the visible area
+
+        gc.beginPath();
+        for (int c = 0; c < visibleIntersections.size(); c++) {
+            int i = visibleIntersections.get(c);
+            addPoint(gc, intersections.getX(i), intersections.getY(i));
+        }
+        gc.setFill(Color.GREEN);
+        gc.fill();
+    }
+
+    /**
+     * Adds a point at the given position to the current path.
+     */
+    private static void addPoint(GraphicsContext gc, double x, double y) {
+        gc.moveTo(x + POINT_RADIUS, y);
+        gc.arc(x, y, POINT_RADIUS, POINT_RADIUS, 0, 360);
+    }
+
+    /**
+     * Fills and/or strokes the current path with the given ARGB color.
+     */
+    private static void finishPath(GraphicsContext gc, int argb, boolean isFilled, boolean isStroked) {
+
+        Color color = Utilities.toColor(argb);
+        if (isFilled) {
+            gc.setFill(color);
+            gc.fill();
+        }
+        if (isStroked) {
+            gc.setStroke(color);
+            gc.stroke();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package graphics;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import metrics.IntersectionMetrics;
+import metrics.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Represents a label on top of the coordinate system that shows how expensive the display of the shapes is: frames per
+ * second, percentiles of the duration of the pulses, the number of nodes in each Group and the duration of the last
+ * full and incremental intersection pass. The values are sampled by an AnimationTimer that runs once per pulse and the
+ * duration of a pulse is the time from the timer to the end of the layout (animations, CSS and layout on the JavaFX
+ * thread). The text is only updated a few times per second. While the overlay is hidden, the timer and the pulse
+ * listener are removed, so it costs nothing.
+ */
+public class DiagnosticsOverlay {
+
+
+    //Static variables
+    private static final int SAMPLES = 120; //pulses for the percentiles (two seconds at 60 frames per second)
+    private static final long UPDATE_INTERVAL = 250_000_000; //nanoseconds between two updates of the text
+
+
+    //Object variables
+    private final Label label = new Label();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulseStarted(now);
+        }
+    };
+    private final Runnable pulseListener = this::pulseFinished;
+    private Scene scene; //the scene the pulse listener is added to, null while hidden
+
+    private final long[] pulseDurations = new long[SAMPLES]; //ring buffer of the last pulses
+    private final long[] sorted = new long[SAMPLES]; //reused to find the percentiles
+    private int sampleCount = 0;
+    private int nextSample = 0;
+    private long pulseStart = 0; //0 when no pulse is measured
+    private long lastUpdate = 0; //time of the last update of the text
+    private int frames = 0; //pulses since the last update
+
+
+    //Constructor
+    public DiagnosticsOverlay() {
+
+        label.setStyle("-fx-background-color: rgba(255, 255, 255, 0.85); -fx-padding: 4; -fx-font-family: monospace;");
+        label.setMouseTransparent(true); //clicks reach the coordinate system
+        label.setVisible(false);
+    }
+
+
+    //Getter and setter
+
+    /**
+     * Returns the Label instance that shows the diagnostics. It has to be placed on top of the coordinate system.
+     *
+     * @return the Label instance of the overlay.
+     */
+    public Label getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns a boolean whether the overlay is shown.
+     *
+     * @return true when the diagnostics are shown and measured and else false.
+     */
+    public boolean getIsShown() {
+        return scene != null;
+    }
+
+    /**
+     * Shows or hides the overlay. The label has to be part of a scene when it is shown. The measuring only runs while
+     * the overlay is shown.
+     *
+     * @param isShown true to show and measure the diagnostics and false to hide them
+     */
+    public void setShown(boolean isShown) {
+
+        if (isShown == getIsShown()) return;
+
+        if (isShown) {
+            if (label.getScene() == null) throw new IllegalStateException("The overlay is not part of a scene");
+
+            scene = label.getScene();
+            scene.addPostLayoutPulseListener(pulseListener);
+            sampleCount = nextSample = frames = 0;
+            pulseStart = lastUpdate = 0;
+            label.setText("measuring...");
+            label.setVisible(true);
+            timer.start();
+        } else {
+            timer.stop();
+            scene.removePostLayoutPulseListener(pulseListener);
+            scene = null;
+            label.setVisible(false);
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Handles the start of a pulse (the AnimationTimer runs before the layout of the pulse).
+     */
+    private void pulseStarted(long now) {
+
+        pulseStart = System.nanoTime();
+        frames++;
+
+        if (lastUpdate == 0) lastUpdate = now; //first pulse after showing
+        else if (now - lastUpdate >= UPDATE_INTERVAL) {
+
+            updateText(frames * 1e9 / (now - lastUpdate));
+            frames = 0;
+            lastUpdate = now;
+        }
+    }
+
+    /**
+     * Handles the end of the layout of a pulse and stores its duration.
+     */
+    private void pulseFinished() {
+
+        if (pulseStart == 0) return; //pulse without the timer (the first one after showing)
+
+        pulseDurations[nextSample] = System.nanoTime() - pulseStart;
+        nextSample = (nextSample + 1) % SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, SAMPLES);
+        pulseStart = 0;
+    }
+
+    /**
+     * Shows the given frames per second and the current values of the pulses, the Groups and the intersections.
+     */
+    private void updateText(double framesPerSecond) {
+
+        System.arraycopy(pulseDurations, 0, sorted, 0, sampleCount);
+        Arrays.sort(sorted, 0, sampleCount);
+
+        Graphics graphics = Graphics.getInstance();
+        IntersectionMetrics.Snapshot intersections = Metrics.getInstance().getIntersections().snapshot();
+        String fullPass = intersections.passCount() == 0 ? "-" : String.format("%.2f ms", intersections.lastPassTime());
+        String incrementalPass = intersections.incrementalPassCount() == 0 ? "-"
+                : String.format("%.2f ms", intersections.lastIncrementalPassTime());
+
+        label.setText(String.format("fps        %.1f\n", framesPerSecond)
+                + String.format("pulse      p50 %.2f ms  p95 %.2f ms  p99 %.2f ms\n", percentile(0.5), percentile(0.95), percentile(0.99))
+                + String.format("nodes      points %d  lines %d  circles %d  intersections %d\n", graphics.getPoints().getChildren().size(),
+                graphics.getLines().getChildren().size(), graphics.getCircles().getChildren().size(), graphics.getIntersections().getChildren().size())
+                + "last pass  full " + fullPass + "  incremental " + incrementalPass);
+    }
+
+    /**
+     * Returns the given percentile of the sorted pulse durations in milliseconds.
+     */
+    private double percentile(double percentile) {
+
+        if (sampleCount == 0) return 0;
+        return sorted[(int) Math.ceil(percentile * sampleCount) - 1] / 1e6;
+    }
+}
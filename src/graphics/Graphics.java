@@ -1,41 +1,88 @@
 package graphics;
 
+import datascructures.DoubleList;
+import datascructures.GridPointSet;
+import datascructures.IntList;
+import geoviz.IntersectionCalculator;
+import geoviz.ShapeIndex;
+import geoviz.ShapeModel;
 import geoviz.Utilities;
 import geoviz.shapes.MyCircle;
 import geoviz.shapes.MyLine;
 import geoviz.shapes.MyPoint;
+import javafx.application.Platform;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
+import metrics.Metrics;
+import metrics.SceneUpdateEvent;
+import metrics.SortEvent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 
 /**
- * Singleton that creates new MyPoint, MyLine and MyCircle instances and holds their respective Group instances.
- * Holds methods for click on coordinate system.
+ * Singleton that holds the shapes and their respective Group instances. Holds methods for click on coordinate system.
+ * The geometry of all shapes is stored in a ShapeModel, on which the intersections are calculated. The Groups only hold
+ * MyPoint, MyLine and MyCircle nodes for the shapes that lie in the visible area of the Viewport: the ShapeIndex finds
+ * them whenever the viewport or the shapes change and nodes are created when shapes become visible and released when
+ * they leave the visible area. When the canvas is used, no nodes are created at all: the shapes are drawn by the
+ * CanvasRenderer. The nodes do not handle the mouse themselves: clicks on points and the shared ShapeTooltip find the
+ * shape under the mouse by hit-testing the ShapeIndex. The intersections are calculated by the IntersectionWorker on a
+ * copy of the lines and circles, so the JavaFX thread does not wait for them. Intersections at the same position (like
+ * the center of a pencil of lines) are only shown once. Many shapes are added with a ShapeBatch, which costs one
+ * intersection pass and one refresh for all of them.
  */
 public class Graphics {
 
 
     //Static variables
     private static final Graphics graphics = new Graphics();
+    private static final double CANVAS_SIZE = 10000; //width and height of the coordinate grid
+    private static final double POINT_RADIUS = 5; //extent of the nodes beyond their coordinates
+    private static final double STROKE_WIDTH = 3;
+    private static final double SNAP_DISTANCE = 15; //distance in pixels in which clicks snap to a point
 
 
     //Object variables
     private UserInterface userInterface;
 
-    private MyPoint lastClick; //internal additional variables
+    private int lastClickIndex = -1; //index of the last clicked point in the model, -1 when there is none
+    private boolean canvasIsUsed = false;
+    private boolean refreshIsRequested = false;
 
     private final Group points = new Group(); //Groups
     private final Group lines = new Group();
     private final Group circles = new Group();
     private final Group intersections = new Group();
 
+    private final HashMap<Integer, MyPoint> pointNodes = new HashMap<>(); //nodes of the visible shapes by their index
+    private final HashMap<Integer, MyLine> lineNodes = new HashMap<>();
+    private final HashMap<Integer, MyCircle> circleNodes = new HashMap<>();
+    private final HashMap<Integer, MyPoint> intersectionNodes = new HashMap<>(); //by the index in intersectionPoints
+    private final IntList visible = new IntList(); //reused for every refresh
+
+    private final ShapeModel model = new ShapeModel(); //geometry of the shapes
+    private final ShapeIndex index = new ShapeIndex(model, 0, 0, CANVAS_SIZE);
+    private final IntersectionCalculator intersectionCalculator = new IntersectionCalculator(0, 0, CANVAS_SIZE, CANVAS_SIZE);
+    private final GridPointSet intersectionPoints = new GridPointSet(Utilities.EPSILON); //the shown intersections, each position only once
+    private final IntersectionWorker intersectionWorker = new IntersectionWorker();
+    private final Viewport viewport = new Viewport();
+    private final CanvasRenderer renderer = new CanvasRenderer(model, intersectionPoints, index, viewport);
+    private final ShapeTooltip tooltip = new ShapeTooltip(model, index, intersectionPoints);
+
 
     //Constructor
     private Graphics() {
+
+        viewport.addListener(this::requestRefresh); //show the shapes of the new visible area
+
+        points.setMouseTransparent(true); //the shapes are found by hit-testing
+        lines.setMouseTransparent(true);
+        circles.setMouseTransparent(true);
+        intersections.setMouseTransparent(true);
     }
 
 
@@ -63,7 +110,7 @@ public class Graphics {
     }
 
     /**
-     * Returns the intersection Group that holds the intersections of the lines and circles displayed.
+     * Returns the intersection Group that holds the visible intersections of the lines and circles.
      *
      * @return the intersections Group instance.
      */
@@ -72,7 +119,7 @@ public class Graphics {
     }
 
     /**
-     * Returns the points Group that holds all MyPoint instances that are displayed.
+     * Returns the points Group that holds the MyPoint instances of the visible points.
      *
      * @return the points Group instance.
      */
@@ -81,7 +128,7 @@ public class Graphics {
     }
 
     /**
-     * Returns the lines Group that holds all MyLines instances that are displayed.
+     * Returns the lines Group that holds the MyLine instances of the visible lines.
      *
      * @return the lines Group instance.
      */
@@ -90,7 +137,7 @@ public class Graphics {
     }
 
     /**
-     * Returns the circles Group that holds all MyCircle instances that are displayed.
+     * Returns the circles Group that holds the MyCircle instances of the visible circles.
      *
      * @return the circles Group instance.
      */
@@ -99,188 +146,482 @@ public class Graphics {
     }
 
     /**
-     * Returns the last-clicked MyPoint instance.
+     * Returns the index of the last clicked point in the model.
+     *
+     * @return the index of the last clicked point. If there is none -1 is returned.
+     */
+    public int getLastClickIndex() {
+        return lastClickIndex;
+    }
+
+    /**
+     * Returns the ShapeModel that holds the geometry of all points, lines and circles.
+     *
+     * @return the ShapeModel instance.
+     */
+    public ShapeModel getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the IntersectionCalculator that is used to calculate the intersections. It can be used to select the
+     * intersection engines and the number of threads.
+     *
+     * @return the IntersectionCalculator instance.
+     */
+    public IntersectionCalculator getIntersectionCalculator() {
+        return intersectionCalculator;
+    }
+
+    /**
+     * Returns the IntersectionWorker that calculates the intersections in the background. Its running property tells
+     * whether a calculation is in progress.
+     *
+     * @return the IntersectionWorker instance.
+     */
+    public IntersectionWorker getIntersectionWorker() {
+        return intersectionWorker;
+    }
+
+    /**
+     * Returns the Viewport that defines the visible area of the coordinate system. Panning and zooming change it.
+     *
+     * @return the Viewport instance.
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Returns the CanvasRenderer that draws the shapes when the canvas is used.
+     *
+     * @return the CanvasRenderer instance.
+     */
+    public CanvasRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Returns the ShapeTooltip that shows the information of the shape under the mouse.
      *
-     * @return the last-clicked MyPoint instance. If there is no null is returned.
+     * @return the ShapeTooltip instance.
      */
-    public MyPoint getLastClick() {
-        return lastClick;
+    public ShapeTooltip getTooltip() {
+        return tooltip;
     }
 
     /**
-     * Updates the local-variable lastClick of the Graphics instance with the given MyPoint instance.
+     * Returns whether the shapes are drawn on the canvas instead of being displayed as nodes.
      *
-     * @param lastClick the new last-clicked point that should be saved.
+     * @return true when the canvas is used and false when nodes are used.
      */
-    public void setLastClick(MyPoint lastClick) {
-        this.lastClick = lastClick;
+    public boolean getCanvasIsUsed() {
+        return canvasIsUsed;
+    }
+
+    /**
+     * Selects how the shapes are displayed. On the canvas all shapes are drawn in a few calls, which also works for a huge
+     * number of shapes. When switching, the nodes are released or created for the visible shapes.
+     *
+     * @param canvasIsUsed true to draw the shapes on the canvas and false to display them as nodes.
+     */
+    public void setCanvasIsUsed(boolean canvasIsUsed) {
+
+        if (this.canvasIsUsed == canvasIsUsed) return;
+        this.canvasIsUsed = canvasIsUsed;
+
+        renderer.getCanvas().setVisible(canvasIsUsed);
+        releaseNodes(); //the nodes are created again when they are needed
+        refresh(); //display the shapes in the new way
     }
 
 
     //Object methods
 
     /**
-     * Handles the click of the mouse on the background pane. Creates a new MyPoint instance at the specific position of the mouse
-     * and adds it to the points Group. It therefore is displayed on the screen. Clears the last-clicked point.
+     * Handles the click of the mouse on the coordinate system. When a point was hit (or lies near the mouse when snapping
+     * is selected), the click is handled like a click on that point. Else a new point is added at the specific position of
+     * the mouse, so it is displayed on the screen, and the last-clicked point is cleared.
      *
-     * @param x the x-coordinate of the mouse to create the MyPoint at this specific x position.
-     * @param y the y-coordinate of the mouse to create the MyPoint at this specific y position.
+     * @param x the x-coordinate of the mouse in the coordinate system to create the point at this specific x position.
+     * @param y the y-coordinate of the mouse in the coordinate system to create the point at this specific y position.
      */
     public void mouseClicked(double x, double y) {
 
-        MyPoint additionalCircle = new MyPoint(x, y, userInterface.getColorPicker().getValue()); //create new circle at mouse position
+        double radius = POINT_RADIUS;
+        if (userInterface.getSnapIsChecked()) radius = Math.max(radius, SNAP_DISTANCE / viewport.getScale()); //same distance on the screen at each zoom
 
-        if (Graphics.getInstance().getLastClick() != null) {
-            Graphics.getInstance().getLastClick().setFill(Graphics.getInstance().getLastClick().getStandardColor()); //reset last-click
+        int clickedPoint = index.pickPoint(x, y, radius); //the nodes do not handle clicks
+        if (clickedPoint >= 0) {
+            handlePointClicked(clickedPoint);
+            return;
         }
 
-        Graphics.getInstance().setLastClick(null); //reset last clicked point
-        Graphics.getInstance().getPoints().getChildren().add(additionalCircle);
+        setLastClickIndex(-1); //reset last clicked point
+        model.addPoint(x, y, Utilities.toArgb(userInterface.getColorPicker().getValue()));
+        requestRefresh();
     }
 
     /**
-     * Creates a new MyLine with the given point as startPoint and the last clicked point as endPoint. The new line is
-     * added to the circles Group and therefore displayed on the screen.
+     * Adds points at the given coordinates in the given color to the model. The nodes of the visible ones are created on
+     * the next refresh.
      *
-     * @param point the given MyPoint instance to create the MyLine with the last clicked MyPoint.
+     * @param coordinates list that holds the x and y coordinates of the points one after another
+     * @param color       the color of the new points
      */
-    public void constructLine(MyPoint point) {
-        MyLine newLine = new MyLine(point, Graphics.getInstance().getLastClick(), userInterface.getColorPicker().getValue()); //instantiate new MyLine instance
-        lines.getChildren().add(newLine); //add new line
+    public void addPoints(DoubleList coordinates, Color color) {
 
-        if (userInterface.getIntersectionButtonIsPressed()) {
-            checkForIntersection();
-        }
+        ShapeBatch batch = beginBatch();
+        batch.addPoints(coordinates, color);
+        batch.commit();
     }
 
     /**
-     * Handles the click on a MyPoint instance. Sets the lastClick instance to the selected point and changes its color
-     * in order to make the selection visible. When a point was selected before, depending on the selection of the RadioButton
-     * (Line or Circle) it creates a MyCircle or a MyLine instance at the locations of the last selected point and the current
-     * selected point (it also resets the colors of the points) and sets the lastClicked instance to null.
+     * Creates a batch that collects many points, lines and circles. They are added on commit of the batch with one
+     * calculation of the intersections and one refresh, instead of one for each shape.
      *
-     * @param clickedPoint the currently clicked MyPoint instance.
+     * @return the new empty ShapeBatch instance
      */
-    public void handlePointClicked(MyPoint clickedPoint) {
-
-        if (getLastClick() != null) { //when there was clicked a MyPoint instance before
+    public ShapeBatch beginBatch() {
+        return new ShapeBatch(this);
+    }
 
-            if (userInterface.getLineIsSelected()) { //line was selected
-                constructLine(clickedPoint); //if there was clicked a point before
-            } else constructCircle(clickedPoint); //circle was selected
+    /**
+     * Handles the click on a point. Sets the last clicked point to the selected point and highlights it in order to make
+     * the selection visible. When a point was selected before, depending on the selection of the RadioButton (Line or
+     * Circle) it creates a circle or a line at the locations of the last selected point and the current selected point
+     * and resets the last clicked point.
+     *
+     * @param clickedPoint the index of the currently clicked point in the model.
+     */
+    public void handlePointClicked(int clickedPoint) {
 
-            getLastClick().setFill(getLastClick().getStandardColor()); //reset colours
-            clickedPoint.setFill(clickedPoint.getStandardColor());
+        if (lastClickIndex >= 0) { //when there was clicked a point before
 
-            setLastClick(null); //reset last-clicked
-        } else {
+            double[] x = model.getPointX();
+            double[] y = model.getPointY();
+            Color color = userInterface.getColorPicker().getValue();
 
-            setLastClick(clickedPoint); //update last-clicked point to current instance
+            if (userInterface.getLineIsSelected()) addLine(x[clickedPoint], y[clickedPoint], x[lastClickIndex], y[lastClickIndex], color);
+            else addCircle(x[lastClickIndex], y[lastClickIndex], x[clickedPoint], y[clickedPoint], color, userInterface.getFilledIsChecked());
 
-            if (clickedPoint.getStandardColor().equals(Color.DARKRED)) clickedPoint.setFill(Color.GREEN); //change color of current instance
-            else clickedPoint.setFill(Color.DARKRED);
-        }
+            setLastClickIndex(-1); //reset last-clicked
+        } else setLastClickIndex(clickedPoint);
     }
 
     /**
-     * Creates a new MyCircle with the given point as radiusPoint and the last clicked point as center. The new circle is
-     * added to the circles Group and therefore displayed on the screen.
-     *
-     * @param point the radiusPoint of the circle to be created.
+     * Displays the shapes of the model again. It is used after the model was filled without Graphics (for example from a
+     * scene file), so all nodes are replaced. When the intersections are shown, they are calculated again.
      */
-    public void constructCircle(MyPoint point) {
-        MyCircle newMyCircle = new MyCircle(Graphics.getInstance().getLastClick(), point, userInterface.getColorPicker().getValue(), userInterface.getFilledIsChecked());
-        circles.getChildren().add(newMyCircle); //add new circle
-        if (circles.getChildren().size() > 1) sortCircles(); //sorting the circles according to their radius
+    public void showModel() {
+
+        clearSelection();
+        releaseNodes(); //the indices may belong to other shapes now
+        clearIntersections();
 
         if (userInterface.getIntersectionButtonIsPressed()) checkForIntersection();
+        requestRefresh();
     }
 
     /**
-     * Clears the previous found intersections and fills the intersections Group with all new intersections.
+     * Clears the previous found intersections and starts the calculation of all new intersections in the background. This
+     * full recalculation is only needed when the intersections are switched on, new shapes only add their own
+     * intersections.
      */
     public void checkForIntersection() {
+
+        clearIntersections();
+        ShapeModel shapes = model.copyLinesAndCircles(); //the model may change during the calculation
+        intersectionWorker.submit(() -> intersectionCalculator.calculateAll(shapes), this::addIntersections);
+    }
+
+    /**
+     * Removes all displayed intersections and cancels the calculations that are still running.
+     */
+    public void clearIntersections() {
+        intersectionWorker.cancelAll();
         intersections.getChildren().clear();
-        for (MyPoint intersection : calculateAllIntersections()) { //fill up intersections Group
-            intersections.getChildren().add(intersection);
+        intersectionNodes.clear(); //the indices may belong to other intersections now
+        intersectionPoints.clear();
+        tooltip.intersectionsChanged();
+        requestRefresh();
+    }
+
+    /**
+     * Removes all shapes and intersections and the selection of a point.
+     */
+    public void clearAll() {
+
+        clearSelection();
+        model.clear();
+        releaseNodes();
+        clearIntersections();
+    }
+
+    /**
+     * Displays the shapes again on the next pulse of the JavaFX thread. Several requests before that pulse are handled
+     * only once.
+     */
+    public void requestRefresh() {
+
+        if (canvasIsUsed) {
+            renderer.requestRedraw();
+            return;
         }
+        if (refreshIsRequested) return;
+        refreshIsRequested = true;
+        Platform.runLater(this::refresh);
     }
 
     /**
-     * Calculates the intersections of all lines and circles displayed. Returns an ArrayList that holds all intersection
-     * points as green MyPoint instances.
-     *
-     * @return ArrayList that holds all intersection points as green MyPoint instances. When there are no intersections
-     * an empty ArrayList is returned.
+     * Displays the shapes that lie in the visible area of the viewport. When the canvas is used, it is drawn again. Else
+     * the Groups are filled with the nodes of the visible shapes: existing nodes are kept, nodes of shapes that became
+     * visible are created and the other nodes are released. Each refresh is recorded as a SceneUpdateEvent for the Flight
+     * Recorder.
      */
-    public ArrayList<MyPoint> calculateAllIntersections() {
+    public void refresh() {
+
+        refreshIsRequested = false;
+        SceneUpdateEvent event = new SceneUpdateEvent();
+        event.begin();
+        if (canvasIsUsed) {
+            renderer.redraw();
+            refreshFinished(event);
+            return;
+        }
 
-        ArrayList<MyPoint> resultPoints = new ArrayList<>();
-        if (lines.getChildren().size() + circles.getChildren().size() < 2) return resultPoints; //if there cannot be any intersections
+        double minX = viewport.getMinX();
+        double minY = viewport.getMinY();
+        double maxX = viewport.getMaxX();
+        double maxY = viewport.getMaxY();
+
+        visible.clear();
+        index.findPoints(minX, minY, maxX, maxY, POINT_RADIUS, visible);
+        points.getChildren().setAll(showVisible(visible, pointNodes, this::createPoint));
+
+        visible.clear();
+        index.findLines(minX, minY, maxX, maxY, STROKE_WIDTH, visible);
+        lines.getChildren().setAll(showVisible(visible, lineNodes, this::createLine));
+
+        visible.clear();
+        index.findCircles(minX, minY, maxX, maxY, STROKE_WIDTH, visible);
+        List<MyCircle> visibleCircles = showVisible(visible, circleNodes, this::createCircle);
+        sortCircles(visibleCircles); //sorting the circles according to their radius
+        circles.getChildren().setAll(visibleCircles);
+
+        visible.clear();
+        intersectionPoints.findInArea(minX - POINT_RADIUS, minY - POINT_RADIUS, maxX + POINT_RADIUS, maxY + POINT_RADIUS, visible);
+        intersections.getChildren().setAll(showVisible(visible, intersectionNodes, this::createIntersection));
+        refreshFinished(event);
+    }
 
-        //lines with lines and circles
-        for (int i = 0; i < lines.getChildren().size(); i++) {
 
-            for (int j = i + 1; j < lines.getChildren().size(); j++) { //check all lines
-                addIntersectionPointToList(Utilities.getPointOfIntersection((MyLine) lines.getChildren().get(i), (MyLine) lines.getChildren().get(j)), resultPoints);
-            }
+    //Helping methods
 
-            for (int j = 0; j < circles.getChildren().size(); j++) { //check all circles with lines
-                addIntersectionPointToList(Utilities.getPointOfIntersection((MyLine) lines.getChildren().get(i), (MyCircle) circles.getChildren().get(j)).get(0), resultPoints);
-                addIntersectionPointToList(Utilities.getPointOfIntersection((MyLine) lines.getChildren().get(i), (MyCircle) circles.getChildren().get(j)).get(1), resultPoints);
-            }
+    /**
+     * Adds the shapes of a committed batch to the model. When lines or circles are added and the intersections are shown,
+     * all intersections are calculated again in one pass. The nodes are created on the next refresh.
+     */
+    void commitBatch(ShapeModel staged) {
+
+        model.addAll(staged);
+        if (staged.getLineCount() + staged.getCircleCount() > 0 && userInterface.getIntersectionButtonIsPressed()) {
+            checkForIntersection(); //one pass instead of one for each shape
         }
+        requestRefresh();
+    }
 
-        if (circles.getChildren().size() < 2) return resultPoints; //when there are at least two circles
+    /**
+     * Adds a line through the given points to the model. Like a MyLine, a vertical line is moved slightly. When the
+     * intersections are shown, the intersections of the new line are added.
+     */
+    private void addLine(double startX, double startY, double endX, double endY, Color color) {
 
-        //circles with circles
-        for (int i = 0; i < circles.getChildren().size() - 1; i++) {
+        if (Double.isInfinite(Utilities.getSlope(startX, startY, endX, endY))) startX += 0.01; //prevent real vertical line
 
-            for (int j = i + 1; j < circles.getChildren().size(); j++) { //check all circles with circles
+        int lineIndex = model.addLine(startX, startY, endX, endY, Utilities.toArgb(color));
+        if (userInterface.getIntersectionButtonIsPressed()) { //only the new line has to be checked
+            ShapeModel shapes = model.copyLinesAndCircles();
+            intersectionWorker.submit(() -> intersectionCalculator.calculateWithLine(shapes, lineIndex), this::addIntersections);
+        }
+        requestRefresh();
+    }
 
-                addIntersectionPointToList(Utilities.getPointOfIntersection((MyCircle) circles.getChildren().get(j), (MyCircle) circles.getChildren().get(i)).get(0), resultPoints);
-                addIntersectionPointToList(Utilities.getPointOfIntersection((MyCircle) circles.getChildren().get(j), (MyCircle) circles.getChildren().get(i)).get(1), resultPoints);
-            }
+    /**
+     * Adds a circle with the given center through the given radius point to the model. When the intersections are shown,
+     * the intersections of the new circle are added.
+     */
+    private void addCircle(double centerX, double centerY, double radiusX, double radiusY, Color color, boolean isFilled) {
 
+        double radius = Utilities.getDistance(centerX, centerY, radiusX, radiusY);
+        int circleIndex = model.addCircle(centerX, centerY, radius, isFilled, Utilities.toArgb(color));
+        if (userInterface.getIntersectionButtonIsPressed()) { //only the new circle has to be checked
+            ShapeModel shapes = model.copyLinesAndCircles();
+            intersectionWorker.submit(() -> intersectionCalculator.calculateWithCircle(shapes, circleIndex), this::addIntersections);
         }
-        return resultPoints;
+        requestRefresh();
     }
 
+    /**
+     * Adds the calculated intersections to the shown ones and displays them (called once for each finished calculation).
+     * Intersections at the position of a shown one only increase its count.
+     */
+    private void addIntersections(DoubleList coordinates) {
+        intersectionPoints.addAll(coordinates);
+        tooltip.intersectionsChanged();
+        requestRefresh();
+    }
 
-    //Helping methods
+    /**
+     * Copies the numbers of nodes in the Groups to the metrics, so they can be read on other threads, and commits the given
+     * Flight Recorder event of the refresh.
+     */
+    private void refreshFinished(SceneUpdateEvent event) {
+
+        event.end();
+        int pointNodes = points.getChildren().size();
+        int lineNodes = lines.getChildren().size();
+        int circleNodes = circles.getChildren().size();
+        int intersectionNodes = intersections.getChildren().size();
+        Metrics.getInstance().getScene().update(pointNodes, lineNodes, circleNodes, intersectionNodes);
+
+        if (event.shouldCommit()) { //only when the Flight Recorder records the event
+            event.canvas = canvasIsUsed;
+            event.points = pointNodes;
+            event.lines = lineNodes;
+            event.circles = circleNodes;
+            event.intersections = intersectionNodes;
+            event.commit();
+        }
+    }
 
     /**
-     * Checks if the given MyPoint instance is null. When not it adds the given instance to the given ArrayList and changes
-     * the color of the instance to green (in order to make it visible that it is an intersection point).
-     *
-     * @param point      the given intersection-point to add to the list
-     * @param resultList the given ArrayList to add the new MyPoint instance to
+     * Updates the last clicked point and highlights it (on the canvas or by the color of its node).
      */
-    private void addIntersectionPointToList(MyPoint point, ArrayList<MyPoint> resultList) {
+    private void setLastClickIndex(int lastClickIndex) {
+
+        highlight(this.lastClickIndex, false);
+        this.lastClickIndex = lastClickIndex;
+        highlight(lastClickIndex, true);
+        renderer.setSelectedPoint(lastClickIndex);
+    }
+
+    /**
+     * Removes the selection of the last clicked point.
+     */
+    private void clearSelection() {
+        setLastClickIndex(-1);
+    }
 
-        if (point != null) {
-            point.setFill(Color.GREEN);
-            resultList.add(point);
+    /**
+     * Changes the color of the node of the given point (if it is visible) to show whether it is the last clicked point.
+     */
+    private void highlight(int pointIndex, boolean isHighlighted) {
+
+        MyPoint node = pointNodes.get(pointIndex);
+        if (node == null) return;
+
+        if (!isHighlighted) node.setFill(node.getStandardColor()); //reset color
+        else if (node.getStandardColor().equals(Color.DARKRED)) node.setFill(Color.GREEN);
+        else node.setFill(Color.DARKRED);
+    }
+
+    /**
+     * Removes all nodes of the shapes from the Groups and forgets them.
+     */
+    private void releaseNodes() {
+
+        pointNodes.clear();
+        lineNodes.clear();
+        circleNodes.clear();
+        intersectionNodes.clear();
+        points.getChildren().clear();
+        lines.getChildren().clear();
+        circles.getChildren().clear();
+        intersections.getChildren().clear();
+    }
+
+    /**
+     * Returns the nodes of the shapes with the given indices. Existing nodes are taken from the given map, missing nodes
+     * are created. Afterwards the map only holds the returned nodes.
+     */
+    private static <T extends Node> List<T> showVisible(IntList indices, HashMap<Integer, T> nodes, IntFunction<T> createNode) {
+
+        HashMap<Integer, T> visibleNodes = new HashMap<>(indices.size() * 2);
+        List<T> result = new ArrayList<>(indices.size());
+
+        for (int i = 0; i < indices.size(); i++) {
+
+            T node = nodes.get(indices.get(i));
+            if (node == null) node = createNode.apply(indices.get(i)); //shape became visible
+            visibleNodes.put(indices.get(i), node);
+            result.add(node);
         }
+
+        nodes.clear(); //release the nodes that are not visible anymore
+        nodes.putAll(visibleNodes);
+        return result;
     }
 
     /**
-     * Sorts the circle instances. The filled circles are prioritised (they are placed further back). When both circles are
-     * filled, they are sorted according to their radius.
+     * Creates the MyPoint instance of the point with the given index.
      */
-    private void sortCircles() {
+    private MyPoint createPoint(int i) {
 
-        List<Node> sored = circles.getChildren().stream().sorted((c1, c2) -> {
+        MyPoint point = new MyPoint(model.getPointX()[i], model.getPointY()[i], Utilities.toColor(model.getPointColor()[i]));
+        if (i == lastClickIndex) { //keep the highlight when the point becomes visible again
+            point.setFill(point.getStandardColor().equals(Color.DARKRED) ? Color.GREEN : Color.DARKRED);
+        }
+        return point;
+    }
 
-            MyCircle circle1 = (MyCircle) c1; //hard cast to MyCircle because only such instances are saved in this Group
-            MyCircle circle2 = (MyCircle) c2;
+    /**
+     * Creates the MyLine instance of the line with the given index.
+     */
+    private MyLine createLine(int i) {
+        return new MyLine(new MyPoint(model.getLineStartX()[i], model.getLineStartY()[i]), new MyPoint(model.getLineEndX()[i],
+                model.getLineEndY()[i]), Utilities.toColor(model.getLineColor()[i]));
+    }
+
+    /**
+     * Creates the MyCircle instance of the circle with the given index.
+     */
+    private MyCircle createCircle(int i) {
+
+        MyPoint center = new MyPoint(model.getCircleX()[i], model.getCircleY()[i]);
+        MyPoint radiusPoint = new MyPoint(model.getCircleX()[i] + model.getCircleRadius()[i], model.getCircleY()[i]);
+        return new MyCircle(center, radiusPoint, Utilities.toColor(model.getCircleColor()[i]), model.getCircleFilled()[i]);
+    }
+
+    /**
+     * Creates the MyPoint instance of the intersection with the given index in intersectionPoints.
+     */
+    private MyPoint createIntersection(int i) {
+
+        MyPoint intersection = new MyPoint(intersectionPoints.getX(i), intersectionPoints.getY(i));
+        intersection.setFill(Color.GREEN); //to make it visible that it is an intersection point
+        return intersection;
+    }
+
+    /**
+     * Sorts the circle instances. The filled circles are prioritised (they are placed further back). When both circles are
+     * filled, they are sorted according to their radius. The sort is recorded as a SortEvent for the Flight Recorder.
+     */
+    private static void sortCircles(List<MyCircle> circles) {
+
+        SortEvent event = new SortEvent();
+        event.begin();
+        circles.sort((circle1, circle2) -> {
 
             if (circle1.getIsFilled() && !circle2.getIsFilled()) return -1; //if only one circle is filled the other one should be on top
             else if (!circle1.getIsFilled() && circle2.getIsFilled()) return 1;
             else return Double.compare(circle2.getRadius(), circle1.getRadius()); //if both are filled sort according to radius
-        }).collect(Collectors.toList());
+        });
 
-        circles.getChildren().clear();
-        circles.getChildren().setAll(sored); //remove previous entries and add sorted ones
+        event.end();
+        if (event.shouldCommit()) {
+            event.circles = circles.size();
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,86 @@
+package graphics;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+
+import java.util.ArrayList;
+
+/**
+ * Represents the LightBlue grid of the background. Only the grid-lines inside the visible area (the viewport) exist as
+ * nodes. When the viewport changes, the Line instances are moved to the new positions and only created when more lines
+ * are visible than before, so the number of nodes does not depend on the size of the grid.
+ */
+public class GridLayer extends Group {
+
+
+    //Static variables
+    private static final double GRID_SIZE = 10000; //width and height of the grid
+    private static final double SPACING = 10; //distance between two grid-lines
+    private static final int MAJOR_EVERY = 10; //every tenth line is slightly thicker
+
+
+    //Object variables
+    private final ArrayList<Line> pool = new ArrayList<>(); //all created lines, the first usedLines are visible
+    private int usedLines;
+
+
+    //Object methods
+
+    /**
+     * Places the grid-lines that lie inside the given area. Lines that are not needed anymore are hidden and reused later.
+     *
+     * @param minX the smallest visible x-coordinate
+     * @param minY the smallest visible y-coordinate
+     * @param maxX the biggest visible x-coordinate
+     * @param maxY the biggest visible y-coordinate
+     */
+    public void setViewport(double minX, double minY, double maxX, double maxY) {
+
+        usedLines = 0;
+
+        //the lines only cover the grid, so the viewport is cut to it
+        double left = Math.max(minX, 0);
+        double right = Math.min(maxX, GRID_SIZE);
+        double bottom = Math.max(minY, 0);
+        double top = Math.min(maxY, GRID_SIZE);
+
+        if (left <= right && bottom <= top) {
+
+            for (long i = (long) Math.ceil(left / SPACING); i * SPACING <= right; i++) { //vertical lines
+                placeLine(i * SPACING, bottom, i * SPACING, top, i % MAJOR_EVERY == 0);
+            }
+            for (long i = (long) Math.ceil(bottom / SPACING); i * SPACING <= top; i++) { //horizontal lines
+                placeLine(left, i * SPACING, right, i * SPACING, i % MAJOR_EVERY == 0);
+            }
+        }
+
+        for (int i = usedLines; i < pool.size(); i++) pool.get(i).setVisible(false); //hide the lines that are not needed
+    }
+
+
+    //Helping methods
+
+    /**
+     * Moves the next unused line of the pool to the given position (a new line is created when all are used).
+     */
+    private void placeLine(double startX, double startY, double endX, double endY, boolean isMajor) {
+
+        Line line;
+        if (usedLines < pool.size()) line = pool.get(usedLines);
+        else {
+            line = new Line();
+            line.setStroke(Color.LIGHTBLUE);
+            pool.add(line);
+            getChildren().add(line);
+        }
+        usedLines++;
+
+        line.setStartX(startX);
+        line.setStartY(startY);
+        line.setEndX(endX);
+        line.setEndY(endY);
+        line.setStrokeWidth(isMajor ? 2 : 1); //every tenth line
+        line.setVisible(true);
+    }
+}
@@ -0,0 +1,103 @@
+package graphics;
+
+import datascructures.DoubleList;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * Runs the calculations of intersections on a background thread, so the JavaFX thread does not freeze on big scenes. The
+ * calculations run one after another in the order they were started and should work on a copy of the shapes. Each
+ * result is handed to the JavaFX thread in one Platform.runLater call. When the shown intersections are replaced, the
+ * running and waiting calculations are cancelled and their results are dropped. All methods are called on the JavaFX
+ * thread.
+ */
+public class IntersectionWorker {
+
+
+    //Object variables
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "intersections");
+        thread.setDaemon(true); //does not keep the application alive
+        return thread;
+    });
+    private final ArrayList<FutureTask<DoubleList>> passes = new ArrayList<>(); //started and not yet handled calculations
+    private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(false);
+    private int generation = 0; //changes when the calculations are cancelled
+
+
+    //Getter
+
+    /**
+     * Returns the property that is true as long as a calculation is running or waiting.
+     *
+     * @return the read-only property whether calculations are running.
+     */
+    public ReadOnlyBooleanProperty runningProperty() {
+        return running.getReadOnlyProperty();
+    }
+
+
+    //Object methods
+
+    /**
+     * Starts the given calculation on the background thread. When it is done and was not cancelled before, its result is
+     * given to the given consumer on the JavaFX thread.
+     *
+     * @param calculation the calculation of intersections (on a copy of the shapes)
+     * @param onResult    receives the x and y coordinates of the calculated intersections
+     */
+    public void submit(Callable<DoubleList> calculation, Consumer<DoubleList> onResult) {
+
+        int passGeneration = generation;
+        FutureTask<DoubleList> pass = new FutureTask<>(calculation) {
+            @Override
+            protected void done() { //also called when the calculation was cancelled
+                Platform.runLater(() -> finished(this, passGeneration, onResult));
+            }
+        };
+
+        passes.add(pass);
+        running.set(true);
+        executor.execute(pass);
+    }
+
+    /**
+     * Cancels all running and waiting calculations. Their results are never handed to the consumers.
+     */
+    public void cancelAll() {
+
+        generation++;
+        for (FutureTask<DoubleList> pass : passes) pass.cancel(true); //interrupts the running calculation
+    }
+
+
+    //Helping methods
+
+    /**
+     * Handles a finished calculation on the JavaFX thread. The result is only used when the calculation was not cancelled.
+     */
+    private void finished(FutureTask<DoubleList> pass, int passGeneration, Consumer<DoubleList> onResult) {
+
+        passes.remove(pass);
+        running.set(!passes.isEmpty());
+        if (pass.isCancelled() || passGeneration != generation) return; //result is stale
+
+        try {
+            onResult.accept(pass.get());
+        } catch (ExecutionException executionException) {
+            if (!(executionException.getCause() instanceof CancellationException)) executionException.printStackTrace();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt(); //cannot happen, the calculation is done
+        }
+    }
+}
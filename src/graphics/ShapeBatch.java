@@ -0,0 +1,105 @@
+package graphics;
+
+import datascructures.DoubleList;
+import geoviz.ShapeModel;
+import geoviz.Utilities;
+import javafx.scene.paint.Color;
+
+/**
+ * Collects many points, lines and circles and adds them to Graphics at once. The shapes are staged in an own ShapeModel
+ * and nothing is displayed or calculated until commit is called. On commit the staged shapes are copied in bulk to the
+ * model of Graphics, the intersections are calculated in one pass (when they are shown) and the shapes are displayed
+ * in one refresh: one setAll for each Group and one sort of the circles, no matter how many shapes were added. A batch is
+ * created by Graphics.beginBatch and can be used again after commit.
+ */
+public class ShapeBatch {
+
+
+    //Object variables
+    private final Graphics graphics;
+    private final ShapeModel staged = new ShapeModel();
+
+
+    //Constructor
+    ShapeBatch(Graphics graphics) {
+        this.graphics = graphics;
+    }
+
+
+    //Getter
+
+    /**
+     * Returns the number of staged shapes that are added on the next commit.
+     *
+     * @return the number of staged points, lines and circles
+     */
+    public int getShapeCount() {
+        return staged.getPointCount() + staged.getLineCount() + staged.getCircleCount();
+    }
+
+
+    //Object methods
+
+    /**
+     * Stages a point at the given position.
+     *
+     * @param x     the x-coordinate of the point
+     * @param y     the y-coordinate of the point
+     * @param color the color of the point
+     */
+    public void addPoint(double x, double y, Color color) {
+        staged.addPoint(x, y, Utilities.toArgb(color));
+    }
+
+    /**
+     * Stages points at the given coordinates.
+     *
+     * @param coordinates list that holds the x and y coordinates of the points one after another
+     * @param color       the color of the points
+     */
+    public void addPoints(DoubleList coordinates, Color color) {
+
+        int argb = Utilities.toArgb(color);
+        for (int i = 0; i + 1 < coordinates.size(); i += 2) staged.addPoint(coordinates.get(i), coordinates.get(i + 1), argb);
+    }
+
+    /**
+     * Stages a line through the given points. Like a MyLine, a vertical line is moved slightly.
+     *
+     * @param startX the x-coordinate of the start-point
+     * @param startY the y-coordinate of the start-point
+     * @param endX   the x-coordinate of the end-point
+     * @param endY   the y-coordinate of the end-point
+     * @param color  the color of the line
+     */
+    public void addLine(double startX, double startY, double endX, double endY, Color color) {
+
+        if (Double.isInfinite(Utilities.getSlope(startX, startY, endX, endY))) startX += 0.01; //prevent real vertical line
+        staged.addLine(startX, startY, endX, endY, Utilities.toArgb(color));
+    }
+
+    /**
+     * Stages a circle with the given center and radius.
+     *
+     * @param centerX  the x-coordinate of the center
+     * @param centerY  the y-coordinate of the center
+     * @param radius   the radius of the circle
+     * @param color    the color of the circle
+     * @param isFilled whether the circle is filled or just the border
+     */
+    public void addCircle(double centerX, double centerY, double radius, Color color, boolean isFilled) {
+
+        if (!(radius >= 0)) throw new IllegalArgumentException("radius must not be negative");
+        staged.addCircle(centerX, centerY, radius, isFilled, Utilities.toArgb(color));
+    }
+
+    /**
+     * Adds all staged shapes to Graphics and displays them. Afterwards the batch is empty.
+     */
+    public void commit() {
+
+        if (getShapeCount() == 0) return;
+        graphics.commitBatch(staged);
+        staged.clear();
+    }
+}
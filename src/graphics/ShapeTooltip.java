@@ -0,0 +1,137 @@
+package graphics;
+
+import datascructures.GridPointSet;
+import geoviz.ShapeIndex;
+import geoviz.ShapeModel;
+import geoviz.Utilities;
+import javafx.scene.Node;
+import javafx.scene.control.Tooltip;
+
+/**
+ * Represents the one Tooltip that is shared by all shapes. Instead of installing a Tooltip on every node, the shape under
+ * the mouse is found with the ShapeIndex whenever the mouse moves and the text is only created when another shape is
+ * hovered. Intersections lie on top of points, points on top of lines and lines on top of circles, so they are checked in
+ * this order. The tooltip of an intersection tells how many intersections lie at its position; the intersection is found
+ * in the search cells of the GridPointSet.
+ */
+public class ShapeTooltip {
+
+
+    //Static variables
+    private static final double POINT_RADIUS = 5; //same sizes as the nodes
+    private static final double STROKE_WIDTH = 3;
+    private static final double OFFSET = 12; //distance between the mouse and the tooltip
+
+
+    //Object variables
+    private final Tooltip tooltip = new Tooltip();
+    private final ShapeModel model;
+    private final ShapeIndex index;
+    private final GridPointSet intersections;
+
+    private String shownShape; //kind and index of the shape the tooltip is shown for, null when it is hidden
+
+
+    //Constructor
+    public ShapeTooltip(ShapeModel model, ShapeIndex index, GridPointSet intersections) {
+        this.model = model;
+        this.index = index;
+        this.intersections = intersections;
+    }
+
+
+    //Object methods
+
+    /**
+     * Handles the move of the mouse. Shows the information of the shape at the given position next to the mouse or hides
+     * the tooltip when there is no shape.
+     *
+     * @param owner   the node the mouse moves over
+     * @param x       the x-coordinate of the mouse in the coordinate system
+     * @param y       the y-coordinate of the mouse in the coordinate system
+     * @param screenX the x-coordinate of the mouse on the screen
+     * @param screenY the y-coordinate of the mouse on the screen
+     */
+    public void mouseMoved(Node owner, double x, double y, double screenX, double screenY) {
+
+        String shape;
+        int intersection = intersections.findNearest(x, y, POINT_RADIUS);
+        int point = intersection < 0 ? index.pickPoint(x, y, POINT_RADIUS) : -1;
+        int line = intersection < 0 && point < 0 ? index.pickLine(x, y, STROKE_WIDTH) : -1;
+        int circle = intersection < 0 && point < 0 && line < 0 ? index.pickCircle(x, y, STROKE_WIDTH) : -1;
+
+        if (intersection >= 0) shape = "intersection " + intersection;
+        else if (point >= 0) shape = "point " + point;
+        else if (line >= 0) shape = "line " + line;
+        else if (circle >= 0) shape = "circle " + circle;
+        else {
+            hide();
+            return;
+        }
+
+        if (!shape.equals(shownShape)) { //the text is only created when another shape is hovered
+            if (intersection >= 0) tooltip.setText(getIntersectionText(intersection));
+            else if (point >= 0) tooltip.setText(getPointText(point));
+            else if (line >= 0) tooltip.setText(getLineText(line));
+            else tooltip.setText(getCircleText(circle));
+            shownShape = shape;
+        }
+
+        if (tooltip.isShowing()) { //follow the mouse
+            tooltip.setAnchorX(screenX + OFFSET);
+            tooltip.setAnchorY(screenY + OFFSET);
+        } else tooltip.show(owner, screenX + OFFSET, screenY + OFFSET);
+    }
+
+    /**
+     * Handles a change of the intersections. The indices of the intersections or their counts may have changed, so the
+     * text is created again on the next move of the mouse.
+     */
+    public void intersectionsChanged() {
+        shownShape = null;
+    }
+
+    /**
+     * Hides the tooltip (for example when the mouse leaves the coordinate system).
+     */
+    public void hide() {
+        tooltip.hide();
+        shownShape = null;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Returns the information about the intersection with the given index.
+     */
+    private String getIntersectionText(int i) {
+        return "x: " + Utilities.round2(intersections.getX(i)) + "\ny: " + Utilities.round2(intersections.getY(i)) + "\nintersections: "
+                + intersections.getCount(i);
+    }
+
+    /**
+     * Returns the information about the point with the given index.
+     */
+    private String getPointText(int i) {
+        return "x: " + Utilities.round2(model.getPointX()[i]) + "\ny: " + Utilities.round2(model.getPointY()[i]);
+    }
+
+    /**
+     * Returns the information about the line with the given index. A nearly vertical line has no useful slope.
+     */
+    private String getLineText(int i) {
+
+        double slope = model.getLineSlope()[i];
+        if (0 > Double.compare(50, slope) || 0 < Double.compare(-50, slope)) return "slope: Infinity\nintercept: No interception";
+        return "slope: " + Utilities.round2(slope) + "\nintercept: " + Utilities.round2(model.getLineIntercept()[i]);
+    }
+
+    /**
+     * Returns the information about the circle with the given index.
+     */
+    private String getCircleText(int i) {
+        return "x: " + Utilities.round2(model.getCircleX()[i]) + "\ny: " + Utilities.round2(model.getCircleY()[i]) + "\nradius: "
+                + Utilities.round2(model.getCircleRadius()[i]);
+    }
+}
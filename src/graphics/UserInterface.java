@@ -1,13 +1,18 @@
 package graphics;
 
 import controls.PointReader;
-import datascructures.MyList;
-import geoviz.shapes.MyPoint;
+import controls.SceneFile;
+import datascructures.DoubleList;
+import geoviz.IntersectionCalculator;
+import javafx.beans.InvalidationListener;
 import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.*;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+
+import java.io.IOException;
 
 /**
  * Represents the user interface and all its instances that can be interacted with
@@ -16,20 +21,43 @@ public class UserInterface {
 
 
     //Object variables
-    private Pane background; //pane
+    private Pane center; //panes
+    private Pane background;
 
     private RadioButton lineButton; //UI objects
     private CheckBox fillBox;
+    private CheckBox snapBox;
+    private CheckBox canvasBox;
     private Button intersectionButton;
     private ColorPicker colorPicker;
     private Button loadDataButton;
+    private Button loadSceneButton;
+    private Button saveSceneButton;
     private Button clearButton;
+    private CheckBox diagnosticsBox;
+    private CheckMenuItem sweepLineItem;
+    private CheckMenuItem spatialHashItem;
+    private CheckMenuItem sortAndSweepItem;
+    private Spinner<Integer> threadSpinner;
+    private final DiagnosticsOverlay diagnostics = new DiagnosticsOverlay();
 
     private boolean intersectionButtonIsPressed = false; //other variables
+    private double lastDragX; //last position of the mouse while the coordinate system is dragged
+    private double lastDragY;
 
 
     //Getter and setter
 
+    /**
+     * Returns the Pane instance of the center. It holds the visible part of the coordinate system and handles panning
+     * and zooming.
+     *
+     * @return the Pane instance of the center.
+     */
+    public Pane getCenter() {
+        return center;
+    }
+
     /**
      * Returns the Pane instance of the background. The background holds the grid and is responsible for new points when
      * a click occurred on free space on the background.
@@ -58,6 +86,25 @@ public class UserInterface {
         return fillBox.isSelected();
     }
 
+    /**
+     * Returns a boolean whether the snapBox CheckBox is checked or not. When it is checked, a click near a point is handled
+     * like a click on that point.
+     *
+     * @return true when snapBox is checked and else false.
+     */
+    public boolean getSnapIsChecked() {
+        return snapBox.isSelected();
+    }
+
+    /**
+     * Returns the CheckBox instance canvasBox from the TopBar that selects whether the shapes are drawn on the canvas.
+     *
+     * @return CheckBox instance of canvasBox.
+     */
+    public CheckBox getCanvasBox() {
+        return canvasBox;
+    }
+
     /**
      * Returns the Button instance of the load-data-button which is used to start a file-chooser to select a file from which
      * Data-Points should be read.
@@ -68,6 +115,26 @@ public class UserInterface {
         return loadDataButton;
     }
 
+    /**
+     * Returns the Button instance of the load-scene-button which is used to start a file-chooser to select a scene file
+     * that replaces all shapes.
+     *
+     * @return the Button instance of the load-scene-button.
+     */
+    public Button getLoadSceneButton() {
+        return loadSceneButton;
+    }
+
+    /**
+     * Returns the Button instance of the save-scene-button which is used to start a file-chooser to select the file in
+     * which all shapes are saved.
+     *
+     * @return the Button instance of the save-scene-button.
+     */
+    public Button getSaveSceneButton() {
+        return saveSceneButton;
+    }
+
     /**
      * Returns the Button instance of the clear-button that clears all shapes from the surface of the grid.
      *
@@ -77,6 +144,65 @@ public class UserInterface {
         return clearButton;
     }
 
+    /**
+     * Returns the CheckBox instance diagnosticsBox from the BottomBar that selects whether the diagnostics overlay is shown.
+     *
+     * @return CheckBox instance of diagnosticsBox.
+     */
+    public CheckBox getDiagnosticsBox() {
+        return diagnosticsBox;
+    }
+
+    /**
+     * Returns the CheckMenuItem instance sweepLineItem from the engines menu of the BottomBar that selects whether the
+     * intersections of lines with lines are found with the sweep-line algorithm.
+     *
+     * @return CheckMenuItem instance of sweepLineItem.
+     */
+    public CheckMenuItem getSweepLineItem() {
+        return sweepLineItem;
+    }
+
+    /**
+     * Returns the CheckMenuItem instance spatialHashItem from the engines menu of the BottomBar that selects whether the
+     * circles near a line are looked up in a spatial hash.
+     *
+     * @return CheckMenuItem instance of spatialHashItem.
+     */
+    public CheckMenuItem getSpatialHashItem() {
+        return spatialHashItem;
+    }
+
+    /**
+     * Returns the CheckMenuItem instance sortAndSweepItem from the engines menu of the BottomBar that selects whether the
+     * circles that meet are found by sort and sweep.
+     *
+     * @return CheckMenuItem instance of sortAndSweepItem.
+     */
+    public CheckMenuItem getSortAndSweepItem() {
+        return sortAndSweepItem;
+    }
+
+    /**
+     * Returns the Spinner instance threadSpinner from the BottomBar that selects the number of threads of the intersection
+     * calculation.
+     *
+     * @return Spinner instance of threadSpinner.
+     */
+    public Spinner<Integer> getThreadSpinner() {
+        return threadSpinner;
+    }
+
+    /**
+     * Returns the overlay that shows the frame rate, the duration of the pulses, the numbers of nodes and the duration of
+     * the last intersection pass on top of the coordinate system.
+     *
+     * @return the DiagnosticsOverlay instance.
+     */
+    public DiagnosticsOverlay getDiagnostics() {
+        return diagnostics;
+    }
+
     /**
      * Returns the Button instance of the intersection-button that handles whether intersections should be displayed or not.
      *
@@ -113,6 +239,8 @@ public class UserInterface {
      * Creates a ToolBar instance that can be used as top-bar in the UI. It consists of two RadioButtons, a CheckBox, a
      * Button and a ColorPicker instance. Those items are aligned in the Bar. The RadioButtons are used to switch between
      * lines and circles. The CheckBox says whether circles should be filled and the button is there to show intersections.
+     * The second CheckBox says whether the shapes are drawn on a canvas instead of being displayed as nodes and the third
+     * one whether clicks snap to the nearest point.
      * The reference of the created instances is passed to the local-variables of the Graphic instance.
      *
      * @return the created ToolBar instance that can be used as top-bar.
@@ -131,47 +259,46 @@ public class UserInterface {
         CheckBox fillCheckBox = new CheckBox("Fill");
         Button intersectionButton = new Button("Show Intersection");
         ColorPicker colorPicker = new ColorPicker(Color.BLACK);
+        CheckBox canvasCheckBox = new CheckBox("Canvas");
+        CheckBox snapCheckBox = new CheckBox("Snap");
 
         this.lineButton = lineButton; //store references in local variables
         fillBox = fillCheckBox;
+        canvasBox = canvasCheckBox;
+        snapBox = snapCheckBox;
         this.intersectionButton = intersectionButton;
         this.colorPicker = colorPicker;
 
         //create ToolBar instance that holds the created instances and return it
-        return new ToolBar(lineButton, circleButton, fillCheckBox, intersectionButton, colorPicker);
+        return new ToolBar(lineButton, circleButton, fillCheckBox, intersectionButton, colorPicker, canvasCheckBox, snapCheckBox);
     }
 
     /**
      * Creates a Pane that holds a grid that can be used as background in the center of the UI. The grid is LightBlue and
      * every tenth line is slightly thicker than the other lines. Sets the background variable to the Pane instance with
-     * the grid on it and adds the cicles Group and lines Group to it.
+     * the grid on it and adds the cicles Group and lines Group to it. The background and the points are placed in a
+     * content Group that is moved and scaled by the Viewport. Only the grid-lines of the visible area are created and
+     * they are placed again when the viewport changes.
      *
-     * @return a Pane instance holding the background (with the grid, the circles and the lines) and on top the points
-     * and intersection points.
+     * @return a Pane instance holding the content (the background with the grid, the circles and the lines and on top the
+     * points and intersection points) and the canvas.
      */
     public Pane makeGrid() {
 
         Pane centerPane = new Pane();
         centerPane.setScaleY(-1);
+        Rectangle clip = new Rectangle(); //the moved content must not cover the bars
+        clip.widthProperty().bind(centerPane.widthProperty());
+        clip.heightProperty().bind(centerPane.heightProperty());
+        centerPane.setClip(clip);
+        this.center = centerPane;
 
-        Pane backgroundPane = new Pane();
-        Group gridLinesPane = new Group();
-
-        for (int i = 0; i < 10000; i++) { //create grid-lines
+        Viewport viewport = Graphics.getInstance().getViewport();
+        Group content = new Group();
+        content.getTransforms().add(viewport.getTransform());
 
-            Line vLine = new Line(i * 10, 0, i * 10, 10000);
-            vLine.setStroke(Color.LIGHTBLUE);
-
-            Line hLine = new Line(0, i * 10, 10000, i * 10);
-            hLine.setStroke(Color.LIGHTBLUE);
-
-            if (i % 10 == 0) { //every tenth line
-                vLine.setStrokeWidth(2);
-                hLine.setStrokeWidth(2);
-            }
-            gridLinesPane.getChildren().add(vLine); //add lines to gridLinesPane Group
-            gridLinesPane.getChildren().add(hLine);
-        }
+        Pane backgroundPane = new Pane();
+        GridLayer gridLinesPane = new GridLayer(); //grid-lines are placed when the size of the center is known
 
         //building hierarchic structure of center
         this.background = backgroundPane; //to make background clickable
@@ -180,31 +307,87 @@ public class UserInterface {
         backgroundPane.getChildren().add(Graphics.getInstance().getCircles());
         backgroundPane.getChildren().add(Graphics.getInstance().getLines()); //lines on top of circles, so they can be seen better
 
-        centerPane.getChildren().add(backgroundPane); //adding clickable background with lines, circles and grid to center
-        centerPane.getChildren().add(Graphics.getInstance().getPoints()); //adding points and intersections on top
-        centerPane.getChildren().add(Graphics.getInstance().getIntersections());
+        content.getChildren().add(backgroundPane); //adding clickable background with lines, circles and grid to content
+        content.getChildren().add(Graphics.getInstance().getPoints()); //adding points and intersections on top
+        content.getChildren().add(Graphics.getInstance().getIntersections());
+        centerPane.getChildren().add(content);
+
+        //adding the canvas on top, it is only visible when the shapes are drawn on it
+        Canvas canvas = Graphics.getInstance().getRenderer().getCanvas();
+        canvas.setVisible(Graphics.getInstance().getCanvasIsUsed());
+        centerPane.getChildren().add(canvas);
+
+        //the grid and the canvas always cover the visible area of the center
+        viewport.addListener(() -> gridLinesPane.setViewport(viewport.getMinX(), viewport.getMinY(), viewport.getMaxX(), viewport.getMaxY()));
+        InvalidationListener resizeViewport = observable -> {
+            Graphics.getInstance().getRenderer().setSize(centerPane.getWidth(), centerPane.getHeight());
+            viewport.setSize(centerPane.getWidth(), centerPane.getHeight());
+        };
+        centerPane.widthProperty().addListener(resizeViewport);
+        centerPane.heightProperty().addListener(resizeViewport);
         return centerPane;
     }
 
     /**
-     * Creates a ToolBar that is used as bottom-bar in the UI. It consists of a Load-button and a Clear-button.
-     * The load-button is used to open a file-chooser instance and the clear-button is used to clear the created shapes
-     * on the grid in the UI. The reference of the created buttons is passed to the local-variables of the Graphic instance.
+     * Creates a ToolBar that is used as bottom-bar in the UI. It consists of a Load-button, a Load-scene-button, a
+     * Save-scene-button, a Clear-button, a ProgressIndicator, a Diagnostics-CheckBox, an Engines-menu and a Threads-Spinner.
+     * The load-buttons and the save-button are used to open a file-chooser instance and the clear-button is used to clear
+     * the created shapes on the grid in the UI. The ProgressIndicator is only visible while intersections are calculated
+     * and the CheckBox shows the diagnostics overlay. The menu and the Spinner select how the intersections are calculated;
+     * the spatial hash and sort and sweep are selected at the start, because they find the same intersections faster. The
+     * sweep-line only finds the intersections inside the grid, so it is not selected. The reference of the created buttons
+     * is passed to the local-variables of the Graphic instance.
      *
      * @return a ToolBar that can be used as bottom-bar.
      */
     public ToolBar makeBottomBar() {
 
         Button loadButton = new Button("Load Data"); //make the Button instances
+        Button loadSceneButton = new Button("Load Scene");
+        Button saveSceneButton = new Button("Save Scene");
         Button clearButton = new Button("Clear Window");
+        ProgressIndicator progressIndicator = new ProgressIndicator(); //spins while intersections are calculated
+        progressIndicator.setPrefSize(20, 20);
+        progressIndicator.visibleProperty().bind(Graphics.getInstance().getIntersectionWorker().runningProperty());
+        CheckBox diagnosticsCheckBox = new CheckBox("Diagnostics");
+        CheckMenuItem sweepLine = new CheckMenuItem("Sweep-line (inside the grid)"); //make the engine selection
+        CheckMenuItem spatialHash = new CheckMenuItem("Spatial hash");
+        CheckMenuItem sortAndSweep = new CheckMenuItem("Sort and sweep");
+        spatialHash.setSelected(true);
+        sortAndSweep.setSelected(true);
+        MenuButton enginesButton = new MenuButton("Engines", null, sweepLine, spatialHash, sortAndSweep);
+        Spinner<Integer> threads = new Spinner<>(1, Runtime.getRuntime().availableProcessors(), 1);
+        threads.setPrefWidth(70);
 
         loadDataButton = loadButton; //set the local-variables to the created references
+        this.loadSceneButton = loadSceneButton;
+        this.saveSceneButton = saveSceneButton;
         this.clearButton = clearButton;
-        return new ToolBar(loadButton, clearButton); //create ToolBar instance that holds the buttons and return it
+        diagnosticsBox = diagnosticsCheckBox;
+        sweepLineItem = sweepLine;
+        spatialHashItem = spatialHash;
+        sortAndSweepItem = sortAndSweep;
+        threadSpinner = threads;
+        return new ToolBar(loadButton, loadSceneButton, saveSceneButton, clearButton, progressIndicator, diagnosticsCheckBox,
+                enginesButton, new Label("Threads"), threads); //create ToolBar instance that holds the buttons and return it
     }
 
     //Interactions
 
+    /**
+     * Handles a change of the Engines-menu or the Threads-Spinner. The selection is passed to the IntersectionCalculator
+     * of Graphics and used from the next calculation on. The shown intersections stay, because all engines find the same
+     * intersections inside the grid.
+     */
+    public void enginesChanged() {
+
+        IntersectionCalculator calculator = Graphics.getInstance().getIntersectionCalculator();
+        calculator.setSweepLineIsUsed(sweepLineItem.isSelected());
+        calculator.setSpatialHashIsUsed(spatialHashItem.isSelected());
+        calculator.setSortAndSweepIsUsed(sortAndSweepItem.isSelected());
+        calculator.setParallelism(threadSpinner.getValue());
+    }
+
     /**
      * Handles the behaviour of the program when the "Show intersections" button was pressed and when it was pressed a
      * second time. It changes the text of the Button and calculates or clears the intersection-points.
@@ -220,30 +403,54 @@ public class UserInterface {
         } else { //was on before
             intersectionButton.setText("Show Intersections");
             intersectionButtonIsPressed = false;
-            Graphics.getInstance().getIntersections().getChildren().clear(); //removes all intersections
+            Graphics.getInstance().clearIntersections(); //removes all intersections
         }
     }
 
+    /**
+     * Handles the press of the mouse on the center. Remembers the position to drag the coordinate system from it.
+     *
+     * @param x the x-coordinate of the mouse in the center
+     * @param y the y-coordinate of the mouse in the center
+     */
+    public void dragStarted(double x, double y) {
+        lastDragX = x;
+        lastDragY = y;
+    }
+
+    /**
+     * Handles the drag of the mouse on the center. Moves the coordinate system by the distance the mouse was moved.
+     *
+     * @param x the x-coordinate of the mouse in the center
+     * @param y the y-coordinate of the mouse in the center
+     */
+    public void dragged(double x, double y) {
+        Graphics.getInstance().getViewport().pan(x - lastDragX, y - lastDragY);
+        dragStarted(x, y);
+    }
+
+    /**
+     * Handles the scrolling of the mouse-wheel on the center. Zooms in or out around the position of the mouse.
+     *
+     * @param x      the x-coordinate of the mouse in the center
+     * @param y      the y-coordinate of the mouse in the center
+     * @param deltaY the scrolled distance, positive values zoom in
+     */
+    public void scrolled(double x, double y, double deltaY) {
+        Graphics.getInstance().getViewport().zoom(Math.pow(1.005, deltaY), x, y);
+    }
+
     /**
      * Handles the click of the clear button. Clears the last clicked point (and in case there is a last clicked point it
      * resets its colour). The points, lines, circles and intersections - Groups are cleared.
      */
     public void clearSurfacePressed() {
-
-        if (Graphics.getInstance().getLastClick() != null) {
-            Graphics.getInstance().getLastClick().setStroke(Color.BLACK); //reset color
-        }
-        Graphics.getInstance().setLastClick(null);
-
-        Graphics.getInstance().getPoints().getChildren().clear(); //clear all groups
-        Graphics.getInstance().getLines().getChildren().clear();
-        Graphics.getInstance().getCircles().getChildren().clear();
-        Graphics.getInstance().getIntersections().getChildren().clear();
+        Graphics.getInstance().clearAll();
     }
 
     /**
-     * Handles the click of the mouse on the loadData button. Adds the found MyPoint instances (of the selected file)
-     * from PointReader instance to the points Group and therefore displays them.
+     * Handles the click of the mouse on the loadData button. Adds the points of the selected file from the PointReader
+     * instance to the model and therefore displays them.
      */
     public void loadDataPressed() {
 
@@ -252,14 +459,64 @@ public class UserInterface {
         String filePath = pointReader.getFilePath();
         if (filePath == null) return; //when nothing can be read
 
-        //fills the new MyList with all found MyPoint instances of the selected file
-        MyList<MyPoint> newPoints = pointReader.readPoints(filePath, colorPicker.getValue());
+        //adds the coordinates of all points of the selected file to the model (and creates their nodes without canvas)
+        DoubleList newPoints = pointReader.readCoordinates(filePath);
+        Graphics.getInstance().addPoints(newPoints, colorPicker.getValue());
+    }
+
+    /**
+     * Handles the click of the mouse on the loadScene button. Replaces all shapes by the ones of the selected scene file
+     * and displays them. When the file cannot be read an error-dialog is shown and the shapes are not changed.
+     */
+    public void loadScenePressed() {
+
+        SceneFile sceneFile = new SceneFile();
+
+        String filePath = sceneFile.getFilePath(false);
+        if (filePath == null) return; //when nothing can be read
+
+        try {
+            sceneFile.load(filePath, Graphics.getInstance().getModel());
+        } catch (IOException ioException) {
+            showFileError("Scene could not be loaded", ioException);
+            return;
+        }
+        Graphics.getInstance().showModel(); //create the nodes of the loaded shapes
+    }
+
+    /**
+     * Handles the click of the mouse on the saveScene button. Saves all shapes in the selected scene file. When the file
+     * cannot be written an error-dialog is shown.
+     */
+    public void saveScenePressed() {
 
-        int i = 0;
+        SceneFile sceneFile = new SceneFile();
 
-        while (newPoints.get(i) != null) { //for each point in the MyList
-            Graphics.getInstance().getPoints().getChildren().add(newPoints.get(i)); //add the current point of the list to the points Group
-            i++;
+        String filePath = sceneFile.getFilePath(true);
+        if (filePath == null) return; //when nothing was selected
+
+        try {
+            sceneFile.save(Graphics.getInstance().getModel(), filePath);
+        } catch (IOException ioException) {
+            showFileError("Scene could not be saved", ioException);
         }
     }
+
+
+    //Helping methods
+
+    /**
+     * Shows an error-dialog with the given title and the message of the given exception.
+     *
+     * @param title     the title of the dialog
+     * @param exception the exception that caused the error
+     */
+    private void showFileError(String title, IOException exception) {
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setContentText(exception.getMessage());
+        alert.showAndWait();
+        exception.printStackTrace();
+    }
 }
@@ -0,0 +1,191 @@
+package graphics;
+
+import javafx.scene.transform.Affine;
+
+import java.util.ArrayList;
+
+/**
+ * Represents the visible part of the coordinate system. A position in the view is the position in the coordinate system
+ * multiplied by the scale plus the translation. The transform of the viewport is applied to the content of the center,
+ * the canvas uses the same values for its GraphicsContext. Listeners are informed whenever the visible area changes.
+ */
+public class Viewport {
+
+
+    //Static variables
+    private static final double MIN_SCALE = 0.001;
+    private static final double MAX_SCALE = 1000;
+
+
+    //Object variables
+    private final Affine transform = new Affine();
+    private final ArrayList<Runnable> listeners = new ArrayList<>();
+
+    private double scale = 1;
+    private double translateX = 0;
+    private double translateY = 0;
+    private double width = 0; //size of the view
+    private double height = 0;
+
+
+    //Getter and setter
+
+    /**
+     * Returns the transform that maps the coordinate system to the view. It is updated whenever the viewport changes.
+     *
+     * @return the Affine instance of the viewport
+     */
+    public Affine getTransform() {
+        return transform;
+    }
+
+    /**
+     * Returns the factor the coordinate system is scaled with.
+     *
+     * @return the scale of the viewport
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the horizontal translation of the coordinate system in the view.
+     *
+     * @return the x-translation of the viewport
+     */
+    public double getTranslateX() {
+        return translateX;
+    }
+
+    /**
+     * Returns the vertical translation of the coordinate system in the view.
+     *
+     * @return the y-translation of the viewport
+     */
+    public double getTranslateY() {
+        return translateY;
+    }
+
+    /**
+     * Sets the size of the view, which determines the visible area.
+     *
+     * @param width  the width of the view
+     * @param height the height of the view
+     */
+    public void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+        changed();
+    }
+
+    /**
+     * Returns the smallest visible x-coordinate of the coordinate system.
+     *
+     * @return the left border of the visible area
+     */
+    public double getMinX() {
+        return toWorldX(0);
+    }
+
+    /**
+     * Returns the smallest visible y-coordinate of the coordinate system.
+     *
+     * @return the lower border of the visible area
+     */
+    public double getMinY() {
+        return toWorldY(0);
+    }
+
+    /**
+     * Returns the biggest visible x-coordinate of the coordinate system.
+     *
+     * @return the right border of the visible area
+     */
+    public double getMaxX() {
+        return toWorldX(width);
+    }
+
+    /**
+     * Returns the biggest visible y-coordinate of the coordinate system.
+     *
+     * @return the upper border of the visible area
+     */
+    public double getMaxY() {
+        return toWorldY(height);
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds a listener that is run whenever the visible area changes.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Moves the coordinate system by the given distance in the view.
+     *
+     * @param dx the horizontal distance in the view
+     * @param dy the vertical distance in the view
+     */
+    public void pan(double dx, double dy) {
+        translateX += dx;
+        translateY += dy;
+        changed();
+    }
+
+    /**
+     * Scales the coordinate system by the given factor. The given position of the view stays at the same place of the
+     * coordinate system (like the position of the mouse when zooming with the wheel).
+     *
+     * @param factor the factor to multiply the scale with
+     * @param pivotX the x-coordinate of the position in the view that stays fixed
+     * @param pivotY the y-coordinate of the position in the view that stays fixed
+     */
+    public void zoom(double factor, double pivotX, double pivotY) {
+
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        double worldX = toWorldX(pivotX);
+        double worldY = toWorldY(pivotY);
+
+        scale = newScale;
+        translateX = pivotX - worldX * scale; //keep the pivot at its position
+        translateY = pivotY - worldY * scale;
+        changed();
+    }
+
+    /**
+     * Converts the given x-coordinate of the view to the coordinate system.
+     *
+     * @param viewX the x-coordinate in the view
+     * @return the x-coordinate in the coordinate system
+     */
+    public double toWorldX(double viewX) {
+        return (viewX - translateX) / scale;
+    }
+
+    /**
+     * Converts the given y-coordinate of the view to the coordinate system.
+     *
+     * @param viewY the y-coordinate in the view
+     * @return the y-coordinate in the coordinate system
+     */
+    public double toWorldY(double viewY) {
+        return (viewY - translateY) / scale;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Updates the transform and informs the listeners.
+     */
+    private void changed() {
+        transform.setToTransform(scale, 0, translateX, 0, scale, translateY);
+        for (Runnable listener : listeners) listener.run();
+    }
+}
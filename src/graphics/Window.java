@@ -1,9 +1,14 @@
 package graphics;
 
 import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import metrics.Metrics;
 
 /**
  * Represents the opened window, the application
@@ -18,10 +23,12 @@ public class Window extends Application {
     //Object methods
 
     /**
-     * Initialization of the window
+     * Initialization of the window. The metrics are exported as MBeans, so a running session can be watched with JMX.
      */
     public void init() {
+
         Graphics.getInstance().setUserInterface(userInterface); //set the association between UserInterface and Graphics
+        Metrics.getInstance().register();
     }
 
     /**
@@ -34,19 +41,48 @@ public class Window extends Application {
         //initialize pane, set TopBar, BottomBar, grid and add shapes Group
         BorderPane root = new BorderPane();
 
-        root.setCenter(userInterface.makeGrid());
+        StackPane centerStack = new StackPane(userInterface.makeGrid(), userInterface.getDiagnostics().getLabel()); //overlay on top
+        StackPane.setAlignment(userInterface.getDiagnostics().getLabel(), Pos.TOP_LEFT);
+        StackPane.setMargin(userInterface.getDiagnostics().getLabel(), new Insets(8));
+        root.setCenter(centerStack);
         root.setTop(userInterface.makeTopBar());
         root.setBottom(userInterface.makeBottomBar());
 
         Scene scene = new Scene(root, 700, 475); //set size of window
 
-        //A coordinate in the grid is clicked
-        userInterface.getBackground().setOnMouseClicked(mouseEvent -> Graphics.getInstance().mouseClicked(mouseEvent.getX(), mouseEvent.getY()));
+        //A coordinate in the grid is clicked (the end of a drag is no click) or the mouse hovers over a shape
+        Pane center = userInterface.getCenter();
+        Viewport viewport = Graphics.getInstance().getViewport();
+        center.setOnMouseClicked(mouseEvent -> {
+            if (mouseEvent.isStillSincePress()) Graphics.getInstance().mouseClicked(viewport.toWorldX(mouseEvent.getX()), viewport.toWorldY(mouseEvent.getY()));
+        });
+        center.setOnMouseMoved(mouseEvent -> Graphics.getInstance().getTooltip().mouseMoved(center, viewport.toWorldX(mouseEvent.getX()),
+                viewport.toWorldY(mouseEvent.getY()), mouseEvent.getScreenX(), mouseEvent.getScreenY()));
+        center.setOnMouseExited(mouseEvent -> Graphics.getInstance().getTooltip().hide());
+
+        //The coordinate system is dragged or zoomed
+        center.setOnMousePressed(mouseEvent -> {
+            Graphics.getInstance().getTooltip().hide();
+            userInterface.dragStarted(mouseEvent.getX(), mouseEvent.getY());
+        });
+        center.setOnMouseDragged(mouseEvent -> userInterface.dragged(mouseEvent.getX(), mouseEvent.getY()));
+        center.setOnScroll(scrollEvent -> userInterface.scrolled(scrollEvent.getX(), scrollEvent.getY(), scrollEvent.getDeltaY()));
 
         //Buttons are clicked
+        userInterface.getCanvasBox().setOnAction(actionEvent -> Graphics.getInstance().setCanvasIsUsed(userInterface.getCanvasBox().isSelected()));
         userInterface.getIntersectionButton().setOnAction(actionEvent -> userInterface.showIntersectionsPressed());
         userInterface.getLoadDataButton().setOnAction(actionEvent -> userInterface.loadDataPressed());
+        userInterface.getLoadSceneButton().setOnAction(actionEvent -> userInterface.loadScenePressed());
+        userInterface.getSaveSceneButton().setOnAction(actionEvent -> userInterface.saveScenePressed());
         userInterface.getClearButton().setOnAction(actionEvent -> userInterface.clearSurfacePressed());
+        userInterface.getDiagnosticsBox().setOnAction(actionEvent -> userInterface.getDiagnostics().setShown(userInterface.getDiagnosticsBox().isSelected()));
+
+        //The engines of the intersection calculation are selected (the selection of the start is applied at once)
+        userInterface.getSweepLineItem().setOnAction(actionEvent -> userInterface.enginesChanged());
+        userInterface.getSpatialHashItem().setOnAction(actionEvent -> userInterface.enginesChanged());
+        userInterface.getSortAndSweepItem().setOnAction(actionEvent -> userInterface.enginesChanged());
+        userInterface.getThreadSpinner().valueProperty().addListener((observable, oldValue, newValue) -> userInterface.enginesChanged());
+        userInterface.enginesChanged();
 
         //Set primaryStage attributes and show it
         primaryStage.setTitle("Graphic Calculator");
@@ -0,0 +1,34 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a calculation of intersections. The duration of the event is the time of the pass, which
+ * runs on the thread of the IntersectionWorker.
+ */
+@Name("geometrycanvas.Intersections")
+@Label("Intersection Pass")
+@Category({"Geometry Canvas", "Intersections"})
+@Description("Calculation of the intersections of lines and circles")
+public class IntersectionEvent extends jdk.jfr.Event {
+
+    @Label("Pass")
+    @Description("all for all pairs, line or circle when only the pairs of an added shape are checked")
+    public String pass;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Circles")
+    public int circles;
+
+    @Label("Pairs Tested")
+    public long pairsTested;
+
+    @Label("Hits")
+    @Description("Found intersections, intersections at the same position included")
+    public long hits;
+}
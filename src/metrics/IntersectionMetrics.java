@@ -0,0 +1,185 @@
+package metrics;
+
+/**
+ * Counts the work of the passes that calculate intersections. A full pass calculates the intersections of all shapes and
+ * tests the pairs of shapes that the intersection engines (sweep-line, spatial hash, sort and sweep) could not exclude,
+ * the other pairs are pruned. An incremental pass only checks one added line or circle with all other shapes and is
+ * counted separately. The values are recorded by the thread that calculates and read by other threads, so all methods
+ * are synchronized.
+ */
+public class IntersectionMetrics implements IntersectionMetricsMXBean {
+
+
+    //Object variables
+    private long passCount = 0; //sums of all passes
+    private long pairsTested = 0;
+    private long pairsPruned = 0;
+    private long hits = 0;
+    private long totalPassNanos = 0;
+
+    private long lastPairsTested = 0; //values of the last pass
+    private long lastPairsPruned = 0;
+    private long lastHits = 0;
+    private long lastPassNanos = 0;
+
+    private long incrementalPassCount = 0; //sums of all incremental passes
+    private long incrementalPairsTested = 0;
+    private long incrementalPairsPruned = 0;
+    private long incrementalHits = 0;
+    private long totalIncrementalPassNanos = 0;
+    private long lastIncrementalPassNanos = 0;
+
+
+    //Getter
+
+    @Override
+    public synchronized long getPassCount() {
+        return passCount;
+    }
+
+    @Override
+    public synchronized long getPairsTested() {
+        return pairsTested;
+    }
+
+    @Override
+    public synchronized long getPairsPruned() {
+        return pairsPruned;
+    }
+
+    @Override
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized double getTotalPassTime() {
+        return totalPassNanos / 1e6;
+    }
+
+    @Override
+    public synchronized long getLastPairsTested() {
+        return lastPairsTested;
+    }
+
+    @Override
+    public synchronized long getLastPairsPruned() {
+        return lastPairsPruned;
+    }
+
+    @Override
+    public synchronized long getLastHits() {
+        return lastHits;
+    }
+
+    @Override
+    public synchronized double getLastPassTime() {
+        return lastPassNanos / 1e6;
+    }
+
+    @Override
+    public synchronized long getIncrementalPassCount() {
+        return incrementalPassCount;
+    }
+
+    @Override
+    public synchronized long getIncrementalPairsTested() {
+        return incrementalPairsTested;
+    }
+
+    @Override
+    public synchronized long getIncrementalPairsPruned() {
+        return incrementalPairsPruned;
+    }
+
+    @Override
+    public synchronized long getIncrementalHits() {
+        return incrementalHits;
+    }
+
+    @Override
+    public synchronized double getTotalIncrementalPassTime() {
+        return totalIncrementalPassNanos / 1e6;
+    }
+
+    @Override
+    public synchronized double getLastIncrementalPassTime() {
+        return lastIncrementalPassNanos / 1e6;
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds a finished full pass over all shapes.
+     *
+     * @param tested the number of pairs whose intersections were calculated
+     * @param pruned the number of pairs that were skipped
+     * @param found  the number of found intersections
+     * @param nanos  the wall time of the pass in nanoseconds
+     */
+    public synchronized void recordPass(long tested, long pruned, long found, long nanos) {
+
+        passCount++;
+        pairsTested += tested;
+        pairsPruned += pruned;
+        hits += found;
+        totalPassNanos += nanos;
+
+        lastPairsTested = tested;
+        lastPairsPruned = pruned;
+        lastHits = found;
+        lastPassNanos = nanos;
+    }
+
+    /**
+     * Adds a finished incremental pass that checked one added line or circle with the other shapes.
+     *
+     * @param tested the number of pairs whose intersections were calculated
+     * @param pruned the number of pairs that were skipped
+     * @param found  the number of found intersections
+     * @param nanos  the wall time of the pass in nanoseconds
+     */
+    public synchronized void recordIncrementalPass(long tested, long pruned, long found, long nanos) {
+
+        incrementalPassCount++;
+        incrementalPairsTested += tested;
+        incrementalPairsPruned += pruned;
+        incrementalHits += found;
+        totalIncrementalPassNanos += nanos;
+        lastIncrementalPassNanos = nanos;
+    }
+
+    /**
+     * Returns a copy of the current values. The copy is immutable, so all its values belong to the same moment.
+     *
+     * @return the new Snapshot instance
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(passCount, pairsTested, pairsPruned, hits, totalPassNanos / 1e6, lastPairsTested, lastPairsPruned,
+                lastHits, lastPassNanos / 1e6, incrementalPassCount, incrementalPairsTested, incrementalPairsPruned, incrementalHits,
+                totalIncrementalPassNanos / 1e6, lastIncrementalPassNanos / 1e6);
+    }
+
+    @Override
+    public synchronized void reset() {
+
+        passCount = pairsTested = pairsPruned = hits = totalPassNanos = 0;
+        lastPairsTested = lastPairsPruned = lastHits = lastPassNanos = 0;
+        incrementalPassCount = incrementalPairsTested = incrementalPairsPruned = incrementalHits = 0;
+        totalIncrementalPassNanos = lastIncrementalPassNanos = 0;
+    }
+
+
+    //Inner classes
+
+    /**
+     * The values of the IntersectionMetrics at one moment (see the getters of IntersectionMetricsMXBean). All times are in
+     * milliseconds.
+     */
+    public record Snapshot(long passCount, long pairsTested, long pairsPruned, long hits, double totalPassTime, long lastPairsTested,
+                           long lastPairsPruned, long lastHits, double lastPassTime, long incrementalPassCount,
+                           long incrementalPairsTested, long incrementalPairsPruned, long incrementalHits,
+                           double totalIncrementalPassTime, double lastIncrementalPassTime) {
+    }
+}
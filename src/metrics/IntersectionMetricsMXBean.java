@@ -0,0 +1,118 @@
+package metrics;
+
+/**
+ * Management interface of the IntersectionMetrics. Each getter is an attribute of the MBean. All times are in
+ * milliseconds.
+ */
+public interface IntersectionMetricsMXBean {
+
+    /**
+     * Returns the number of finished passes over all shapes.
+     *
+     * @return the number of passes
+     */
+    long getPassCount();
+
+    /**
+     * Returns the number of pairs of shapes whose intersections were calculated in all passes.
+     *
+     * @return the number of tested pairs
+     */
+    long getPairsTested();
+
+    /**
+     * Returns the number of pairs of shapes that were skipped by the intersection engines in all passes.
+     *
+     * @return the number of pruned pairs
+     */
+    long getPairsPruned();
+
+    /**
+     * Returns the number of intersections that were found in all passes (intersections at the same position included).
+     *
+     * @return the number of hits
+     */
+    long getHits();
+
+    /**
+     * Returns the wall time of all passes over all shapes.
+     *
+     * @return the time in milliseconds
+     */
+    double getTotalPassTime();
+
+    /**
+     * Returns the number of tested pairs of the last pass over all shapes.
+     *
+     * @return the number of tested pairs
+     */
+    long getLastPairsTested();
+
+    /**
+     * Returns the number of pruned pairs of the last pass over all shapes.
+     *
+     * @return the number of pruned pairs
+     */
+    long getLastPairsPruned();
+
+    /**
+     * Returns the number of hits of the last pass over all shapes.
+     *
+     * @return the number of hits
+     */
+    long getLastHits();
+
+    /**
+     * Returns the wall time of the last pass over all shapes.
+     *
+     * @return the time in milliseconds
+     */
+    double getLastPassTime();
+
+    /**
+     * Returns the number of finished incremental passes that checked one added line or circle.
+     *
+     * @return the number of incremental passes
+     */
+    long getIncrementalPassCount();
+
+    /**
+     * Returns the number of pairs of shapes whose intersections were calculated in all incremental passes.
+     *
+     * @return the number of tested pairs
+     */
+    long getIncrementalPairsTested();
+
+    /**
+     * Returns the number of pairs of shapes that were skipped in all incremental passes.
+     *
+     * @return the number of pruned pairs
+     */
+    long getIncrementalPairsPruned();
+
+    /**
+     * Returns the number of intersections that were found in all incremental passes.
+     *
+     * @return the number of hits
+     */
+    long getIncrementalHits();
+
+    /**
+     * Returns the wall time of all incremental passes.
+     *
+     * @return the time in milliseconds
+     */
+    double getTotalIncrementalPassTime();
+
+    /**
+     * Returns the wall time of the last incremental pass.
+     *
+     * @return the time in milliseconds
+     */
+    double getLastIncrementalPassTime();
+
+    /**
+     * Sets all values to 0.
+     */
+    void reset();
+}
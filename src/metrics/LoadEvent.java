@@ -0,0 +1,32 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for reading a point file with the PointReader. The duration of the event is the time of reading
+ * and parsing the file.
+ */
+@Name("geometrycanvas.Load")
+@Label("Load Points")
+@Category({"Geometry Canvas", "Load"})
+@Description("Reading and parsing of a point file")
+public class LoadEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Points")
+    public long points;
+
+    @Label("Threads")
+    @Description("Number of threads that parsed the file")
+    public int threads;
+}
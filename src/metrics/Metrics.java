@@ -0,0 +1,107 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Holds the metrics of the application: the passes of the intersection calculation, the reading of point files and the
+ * nodes of the shown shapes. The values are always counted, but only exported as MBeans (for example to JConsole or a
+ * monitoring agent) after register was called, so the batch mode does not start JMX.
+ */
+public class Metrics {
+
+
+    //Static variables
+    private static final Metrics metrics = new Metrics();
+    private static final String DOMAIN = "geometrycanvas";
+
+
+    //Object variables
+    private final IntersectionMetrics intersections = new IntersectionMetrics();
+    private final ReaderMetrics reader = new ReaderMetrics();
+    private final SceneMetrics scene = new SceneMetrics();
+
+
+    //Constructor
+    private Metrics() {
+    }
+
+
+    //Static methods
+
+    /**
+     * Returns the reference of the Metrics singleton.
+     *
+     * @return Metrics singleton reference.
+     */
+    public static Metrics getInstance() {
+        return metrics;
+    }
+
+
+    //Getter
+
+    /**
+     * Returns the metrics of the passes that calculate the intersections of all shapes.
+     *
+     * @return the IntersectionMetrics instance.
+     */
+    public IntersectionMetrics getIntersections() {
+        return intersections;
+    }
+
+    /**
+     * Returns the metrics of the PointReader.
+     *
+     * @return the ReaderMetrics instance.
+     */
+    public ReaderMetrics getReader() {
+        return reader;
+    }
+
+    /**
+     * Returns the numbers of nodes of the shown shapes.
+     *
+     * @return the SceneMetrics instance.
+     */
+    public SceneMetrics getScene() {
+        return scene;
+    }
+
+
+    //Object methods
+
+    /**
+     * Registers the metrics as MBeans at the platform MBeanServer (geometrycanvas:type=Intersections, type=Reader and
+     * type=Scene). Calling it again has no effect.
+     */
+    public void register() {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, intersections, "Intersections");
+            register(server, reader, "Reader");
+            register(server, scene, "Scene");
+        } catch (JMException jmException) {
+            throw new IllegalStateException("Metrics cannot be registered", jmException);
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Registers the given MBean with the given type.
+     */
+    private static void register(MBeanServer server, Object mBean, String type) throws JMException {
+
+        try {
+            server.registerMBean(mBean, new ObjectName(DOMAIN, "type", type));
+        } catch (InstanceAlreadyExistsException instanceAlreadyExistsException) {
+            //registered before
+        }
+    }
+}
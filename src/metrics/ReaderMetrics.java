@@ -0,0 +1,107 @@
+package metrics;
+
+/**
+ * Counts the points that the PointReader parses and the time it needs for it. All methods are synchronized, because the
+ * values are read by other threads.
+ */
+public class ReaderMetrics implements ReaderMetricsMXBean {
+
+
+    //Object variables
+    private long fileCount = 0; //sums of all files
+    private long pointCount = 0;
+    private long byteCount = 0;
+    private long totalReadNanos = 0;
+
+    private long lastPointCount = 0; //values of the last file
+    private long lastReadNanos = 0;
+
+
+    //Getter
+
+    @Override
+    public synchronized long getFileCount() {
+        return fileCount;
+    }
+
+    @Override
+    public synchronized long getPointCount() {
+        return pointCount;
+    }
+
+    @Override
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    @Override
+    public synchronized double getTotalReadTime() {
+        return totalReadNanos / 1e6;
+    }
+
+    @Override
+    public synchronized double getPointsPerSecond() {
+        return perSecond(pointCount, totalReadNanos);
+    }
+
+    @Override
+    public synchronized double getLastPointsPerSecond() {
+        return perSecond(lastPointCount, lastReadNanos);
+    }
+
+
+    //Object methods
+
+    /**
+     * Adds a read file.
+     *
+     * @param points the number of parsed points
+     * @param bytes  the size of the file
+     * @param nanos  the time of reading in nanoseconds
+     */
+    public synchronized void recordFile(long points, long bytes, long nanos) {
+
+        fileCount++;
+        pointCount += points;
+        byteCount += bytes;
+        totalReadNanos += nanos;
+
+        lastPointCount = points;
+        lastReadNanos = nanos;
+    }
+
+    /**
+     * Returns a copy of the current values. The copy is immutable, so all its values belong to the same moment.
+     *
+     * @return the new Snapshot instance
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(fileCount, pointCount, byteCount, totalReadNanos / 1e6, perSecond(pointCount, totalReadNanos),
+                perSecond(lastPointCount, lastReadNanos));
+    }
+
+    @Override
+    public synchronized void reset() {
+        fileCount = pointCount = byteCount = totalReadNanos = lastPointCount = lastReadNanos = 0;
+    }
+
+
+    //Helping methods
+
+    /**
+     * Returns the given count per second of the given time.
+     */
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1e9 / nanos : 0;
+    }
+
+
+    //Inner classes
+
+    /**
+     * The values of the ReaderMetrics at one moment (see the getters of ReaderMetricsMXBean). The time is in milliseconds.
+     */
+    public record Snapshot(long fileCount, long pointCount, long byteCount, double totalReadTime, double pointsPerSecond,
+                           double lastPointsPerSecond) {
+    }
+}
@@ -0,0 +1,54 @@
+package metrics;
+
+/**
+ * Management interface of the ReaderMetrics. Each getter is an attribute of the MBean. All times are in milliseconds.
+ */
+public interface ReaderMetricsMXBean {
+
+    /**
+     * Returns the number of read point files.
+     *
+     * @return the number of files
+     */
+    long getFileCount();
+
+    /**
+     * Returns the number of points that were parsed from all files.
+     *
+     * @return the number of points
+     */
+    long getPointCount();
+
+    /**
+     * Returns the size of all read files.
+     *
+     * @return the number of bytes
+     */
+    long getByteCount();
+
+    /**
+     * Returns the time that was spent reading all files.
+     *
+     * @return the time in milliseconds
+     */
+    double getTotalReadTime();
+
+    /**
+     * Returns the number of points that were parsed per second over all files.
+     *
+     * @return the points per second, 0 when no file was read
+     */
+    double getPointsPerSecond();
+
+    /**
+     * Returns the number of points that were parsed per second from the last file.
+     *
+     * @return the points per second, 0 when no file was read
+     */
+    double getLastPointsPerSecond();
+
+    /**
+     * Sets all values to 0.
+     */
+    void reset();
+}
@@ -0,0 +1,82 @@
+package metrics;
+
+/**
+ * Holds the number of nodes in the Groups of the shapes. The Groups may only be read on the JavaFX thread, so Graphics
+ * sets the numbers after each refresh and other threads read these copies. All methods are synchronized.
+ */
+public class SceneMetrics implements SceneMetricsMXBean {
+
+
+    //Object variables
+    private int pointNodes = 0;
+    private int lineNodes = 0;
+    private int circleNodes = 0;
+    private int intersectionNodes = 0;
+    private long refreshCount = 0;
+
+
+    //Getter
+
+    @Override
+    public synchronized int getPointNodes() {
+        return pointNodes;
+    }
+
+    @Override
+    public synchronized int getLineNodes() {
+        return lineNodes;
+    }
+
+    @Override
+    public synchronized int getCircleNodes() {
+        return circleNodes;
+    }
+
+    @Override
+    public synchronized int getIntersectionNodes() {
+        return intersectionNodes;
+    }
+
+    @Override
+    public synchronized long getRefreshCount() {
+        return refreshCount;
+    }
+
+
+    //Object methods
+
+    /**
+     * Sets the numbers of nodes after a refresh.
+     *
+     * @param points        the number of nodes in the points Group
+     * @param lines         the number of nodes in the lines Group
+     * @param circles       the number of nodes in the circles Group
+     * @param intersections the number of nodes in the intersections Group
+     */
+    public synchronized void update(int points, int lines, int circles, int intersections) {
+
+        pointNodes = points;
+        lineNodes = lines;
+        circleNodes = circles;
+        intersectionNodes = intersections;
+        refreshCount++;
+    }
+
+    /**
+     * Returns a copy of the current values. The copy is immutable, so all its values belong to the same refresh.
+     *
+     * @return the new Snapshot instance
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(pointNodes, lineNodes, circleNodes, intersectionNodes, refreshCount);
+    }
+
+
+    //Inner classes
+
+    /**
+     * The values of the SceneMetrics at one moment (see the getters of SceneMetricsMXBean).
+     */
+    public record Snapshot(int pointNodes, int lineNodes, int circleNodes, int intersectionNodes, long refreshCount) {
+    }
+}
@@ -0,0 +1,42 @@
+package metrics;
+
+/**
+ * Management interface of the SceneMetrics. Each getter is an attribute of the MBean.
+ */
+public interface SceneMetricsMXBean {
+
+    /**
+     * Returns the number of nodes in the points Group.
+     *
+     * @return the number of point nodes
+     */
+    int getPointNodes();
+
+    /**
+     * Returns the number of nodes in the lines Group.
+     *
+     * @return the number of line nodes
+     */
+    int getLineNodes();
+
+    /**
+     * Returns the number of nodes in the circles Group.
+     *
+     * @return the number of circle nodes
+     */
+    int getCircleNodes();
+
+    /**
+     * Returns the number of nodes in the intersections Group.
+     *
+     * @return the number of intersection nodes
+     */
+    int getIntersectionNodes();
+
+    /**
+     * Returns how often the shapes were displayed again.
+     *
+     * @return the number of refreshes
+     */
+    long getRefreshCount();
+}
@@ -0,0 +1,33 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for displaying the shapes again: drawing the canvas or replacing the nodes of the Groups with
+ * the nodes of the visible shapes.
+ */
+@Name("geometrycanvas.SceneUpdate")
+@Label("Scene Update")
+@Category({"Geometry Canvas", "Render"})
+@Description("Update of the canvas or the scene graph for the visible shapes")
+public class SceneUpdateEvent extends jdk.jfr.Event {
+
+    @Label("Canvas")
+    @Description("Whether the shapes were drawn on the canvas instead of shown as nodes")
+    public boolean canvas;
+
+    @Label("Point Nodes")
+    public int points;
+
+    @Label("Line Nodes")
+    public int lines;
+
+    @Label("Circle Nodes")
+    public int circles;
+
+    @Label("Intersection Nodes")
+    public int intersections;
+}
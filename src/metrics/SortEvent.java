@@ -0,0 +1,19 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for sorting the circle nodes, so filled and big circles lie behind the others.
+ */
+@Name("geometrycanvas.SortCircles")
+@Label("Sort Circles")
+@Category({"Geometry Canvas", "Render"})
+@Description("Sorting of the visible circle nodes")
+public class SortEvent extends jdk.jfr.Event {
+
+    @Label("Circles")
+    public int circles;
+}
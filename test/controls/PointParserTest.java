@@ -0,0 +1,83 @@
+package controls;
+
+import datascructures.DoubleList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the formats of point files that the PointParser reads.
+ */
+public class PointParserTest {
+
+
+    //Object methods
+
+    /**
+     * Any characters that are not digits or points divide the numbers, also a - between them.
+     */
+    @Test
+    public void readsSeparators() throws IOException {
+
+        assertArrayEquals(new double[]{100, 50, 400.3, 300.1, 3, 4, 1, 2, 7, 8}, parse("100, 50\n400.30,300.1\n3 - 4\n1-2\n7;8\n"));
+    }
+
+    /**
+     * A - or + directly in front of a number at the start of the line or after a separator is its sign.
+     */
+    @Test
+    public void readsSigns() throws IOException {
+
+        assertArrayEquals(new double[]{-3, 4, 100, -50, 1, 2}, parse("-3, 4\n100, -50\n1, - 2"));
+    }
+
+    /**
+     * Lines end with \n, \r\n or \r and blank lines are skipped.
+     */
+    @Test
+    public void readsLineEnds() throws IOException {
+
+        assertArrayEquals(new double[]{5, 6, 7, 8, 9, 10, 11, 12}, parse("5,6\r7,8\r\n\r\n9,10\n\n11,12\r"));
+    }
+
+    /**
+     * A wrong line stops the parsing, the points before are kept and the line number names the wrong line.
+     */
+    @Test
+    public void stopsAtWrongLine() {
+
+        PointParser parser = new PointParser();
+        DoubleList coordinates = new DoubleList();
+        assertThrows(NumberFormatException.class, () -> parser.parse(channel("1, 2\r\n3, 4\r\nx, 5\r\n6, 7"), coordinates));
+        assertArrayEquals(new double[]{1, 2, 3, 4}, coordinates.toArray());
+        assertEquals(3, parser.getLineNumber());
+    }
+
+
+    //Helping methods
+
+    /**
+     * Parses the given text and returns the coordinates.
+     */
+    private static double[] parse(String text) throws IOException {
+
+        DoubleList coordinates = new DoubleList();
+        new PointParser().parse(channel(text), coordinates);
+        return coordinates.toArray();
+    }
+
+    /**
+     * Returns a channel that reads the given text.
+     */
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
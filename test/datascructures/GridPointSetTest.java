@@ -0,0 +1,49 @@
+package datascructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Checks that the points in an area are the same as when all stored points are compared with the area, also when points
+ * are added between the queries and after the set was cleared.
+ */
+public class GridPointSetTest {
+
+
+    //Object methods
+
+    /**
+     * Random points and areas of different sizes, queried while the set grows.
+     */
+    @Test
+    public void findsSamePointsInAreaAsAllPoints() {
+
+        Random random = new Random(7);
+        GridPointSet set = new GridPointSet(0.000001);
+
+        for (int round = 0; round < 200; round++) {
+
+            if (round == 100) set.clear();
+            for (int i = random.nextInt(500); i > 0; i--) {
+                set.add(random.nextInt(2000) - 1000 + random.nextDouble(), random.nextInt(2000) - 1000 + random.nextDouble());
+            }
+
+            double minX = random.nextInt(2400) - 1200;
+            double minY = random.nextInt(2400) - 1200;
+            double maxX = minX + random.nextInt(800);
+            double maxY = minY + random.nextInt(800);
+
+            IntList expected = new IntList();
+            for (int i = 0; i < set.size(); i++) {
+                if (set.getX(i) >= minX && set.getX(i) <= maxX && set.getY(i) >= minY && set.getY(i) <= maxY) expected.add(i);
+            }
+            IntList found = new IntList();
+            set.findInArea(minX, minY, maxX, maxY, found);
+
+            assertArrayEquals(expected.toArray(), found.toArray(), "round " + round);
+        }
+    }
+}
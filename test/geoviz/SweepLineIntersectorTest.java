@@ -0,0 +1,90 @@
+package geoviz;
+
+import datascructures.DoubleList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Checks that the sweep-line algorithm finds the same intersections of lines as checking all pairs of lines. Checking all
+ * pairs also finds the intersections outside the region, so only those inside the region (with its border) are compared.
+ */
+public class SweepLineIntersectorTest {
+
+
+    //Static variables
+    private static final double SIZE = 10000; //region of the calculators
+    private static final double GRID = 500; //endpoints on this grid make many lines meet on the border
+
+
+    //Object methods
+
+    /**
+     * Two lines that meet on the lower border of the region.
+     */
+    @Test
+    public void findsIntersectionOnBorder() {
+
+        ShapeModel model = new ShapeModel();
+        model.addLine(8500, 7000, 7000, 3500, 0);
+        model.addLine(2500, 3000, 1500, 4000, 0);
+
+        assertSameIntersections(model, 0);
+    }
+
+    /**
+     * Random scenes with endpoints on a grid, so intersections often lie on the border or at the same position.
+     */
+    @Test
+    public void findsSameIntersectionsAsAllPairs() {
+
+        Random random = new Random(42);
+        for (int scene = 0; scene < 1000; scene++) {
+
+            ShapeModel model = new ShapeModel();
+            int lineCount = 2 + random.nextInt(30);
+            while (model.getLineCount() < lineCount) {
+
+                double startX = gridValue(random);
+                double endX = gridValue(random);
+                if (startX == endX) continue; //vertical lines are moved slightly by Graphics, not tested here
+                model.addLine(startX, gridValue(random), endX, gridValue(random), 0);
+            }
+            assertSameIntersections(model, scene);
+        }
+    }
+
+
+    //Helping methods
+
+    /**
+     * Asserts that the sweep-line finds the intersections inside the region that checking all pairs finds, in the same
+     * order.
+     */
+    private static void assertSameIntersections(ShapeModel model, int scene) {
+
+        IntersectionCalculator sweepLine = new IntersectionCalculator(0, 0, SIZE, SIZE);
+        sweepLine.setSweepLineIsUsed(true);
+        IntersectionCalculator allPairs = new IntersectionCalculator(0, 0, SIZE, SIZE);
+        SweepLineIntersector region = new SweepLineIntersector(0, 0, SIZE, SIZE);
+
+        DoubleList all = allPairs.calculateAll(model);
+        DoubleList expected = new DoubleList();
+        for (int i = 0; i + 1 < all.size(); i += 2) {
+            if (!region.isInsideRegion(all.get(i), all.get(i + 1))) continue;
+            expected.add(all.get(i));
+            expected.add(all.get(i + 1));
+        }
+
+        assertArrayEquals(expected.toArray(), sweepLine.calculateAll(model).toArray(), "scene " + scene);
+    }
+
+    /**
+     * Returns a random value on the grid in and around the region.
+     */
+    private static double gridValue(Random random) {
+        return (random.nextInt((int) (SIZE / GRID) + 5) - 2) * GRID;
+    }
+}